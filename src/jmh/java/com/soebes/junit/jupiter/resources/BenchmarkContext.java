@@ -0,0 +1,150 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A minimal {@link ExtensionContext} with a single {@link ExtensionContext.Store} which is
+ * used as root and as test context, so the {@link TestResourceExtension} can be called
+ * without running the JUnit engine.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class BenchmarkContext implements ExtensionContext.Store {
+
+  private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+  private final ExtensionContext extensionContext;
+
+  BenchmarkContext(Class<?> testClass) {
+    this.extensionContext = proxy(ExtensionContext.class, (method, args) -> {
+      switch (method.getName()) {
+        case "getRoot":
+          return extensionContext();
+        case "getStore":
+          return this;
+        case "getTestClass":
+          return Optional.of(testClass);
+        case "getRequiredTestClass":
+          return testClass;
+        case "getConfigurationParameter":
+          return Optional.empty();
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+  }
+
+  ExtensionContext extensionContext() {
+    return extensionContext;
+  }
+
+  static ParameterContext parameterContext(Parameter parameter) {
+    return proxy(ParameterContext.class, (method, args) -> {
+      switch (method.getName()) {
+        case "getParameter":
+          return parameter;
+        case "getDeclaringExecutable":
+          return parameter.getDeclaringExecutable();
+        case "getTarget":
+          return Optional.empty();
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+  }
+
+  @Override
+  public Object get(Object key) {
+    return values.get(key);
+  }
+
+  @Override
+  public <V> V get(Object key, Class<V> requiredType) {
+    return requiredType.cast(values.get(key));
+  }
+
+  @Override
+  public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+    return values.computeIfAbsent(key, k -> defaultCreator.apply(key));
+  }
+
+  @Override
+  public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+    return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    values.put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    return values.remove(key);
+  }
+
+  @Override
+  public <V> V remove(Object key, Class<V> requiredType) {
+    return requiredType.cast(values.remove(key));
+  }
+
+  /**
+   * Closes all {@link CloseableResource}s like JUnit does at the end of a context.
+   */
+  void close() throws Throwable {
+    for (Object value : values.values()) {
+      if (value instanceof CloseableResource) {
+        ((CloseableResource) value).close();
+      }
+    }
+    values.clear();
+  }
+
+  private interface Handler {
+    Object invoke(Method method, Object[] args);
+  }
+
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return type.getSimpleName();
+        }
+      }
+      return handler.invoke(method, args);
+    }));
+  }
+}
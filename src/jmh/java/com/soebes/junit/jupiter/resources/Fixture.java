@@ -0,0 +1,166 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The text resource all benchmarks are working on. The fixtures are generated once into
+ * {@code target/jmh-fixtures} and reused by later runs.
+ * <p>
+ * A cold lookup uses a new class loader for every invocation, so nothing which is cached
+ * per class loader can be reused. A warm lookup uses the same class loader for all invocations.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@State(Scope.Benchmark)
+public class Fixture {
+
+  static final String NAME = "fixture.txt";
+
+  private static final String LINE = "The quick brown fox jumps over the lazy dog. \u00e4\u00f6\u00fc\u00df ";
+
+  public enum Lookup {
+    COLD,
+    WARM
+  }
+
+  /**
+   * 1 KiB, 1 MiB, 64 MiB and 1 GiB.
+   */
+  @Param({"1024", "1048576", "67108864", "1073741824"})
+  public long size;
+
+  @Param({"UTF-8", "ISO-8859-1", "UTF-16"})
+  public String charset;
+
+  /**
+   * The number of characters per line which determines the number of lines.
+   */
+  @Param({"80", "4096"})
+  public int lineLength;
+
+  @Param({"COLD", "WARM"})
+  public Lookup lookup;
+
+  private Path directory;
+
+  private FixtureClassLoader warm;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Paths.get("target", "jmh-fixtures", charset + "-" + size + "-" + lineLength).toAbsolutePath();
+    Path file = directory.resolve(NAME);
+    if (!Files.isRegularFile(file)) {
+      Files.createDirectories(directory);
+      write(file, Charset.forName(charset));
+    }
+    warm = new FixtureClassLoader(directory);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    warm.close();
+  }
+
+  /**
+   * @return A class loader which contains the fixture as {@link #NAME}. A cold class loader has to be
+   * closed by the caller.
+   */
+  FixtureClassLoader classLoader() {
+    return lookup == Lookup.WARM ? warm : new FixtureClassLoader(directory);
+  }
+
+  Path directory() {
+    return directory;
+  }
+
+  void release(FixtureClassLoader classLoader) throws IOException {
+    if (classLoader != warm) {
+      classLoader.close();
+    }
+  }
+
+  private void write(Path file, Charset encoding) throws IOException {
+    StringBuilder text = new StringBuilder(lineLength);
+    while (text.length() < lineLength) {
+      text.append(LINE);
+    }
+    String line = text.substring(0, lineLength);
+    // The difference cancels out a byte order mark which is written only once.
+    long bytesPerLine = (line + '\n' + line + '\n').getBytes(encoding).length - (line + '\n').getBytes(encoding).length;
+    long lines = Math.max(1, size / bytesPerLine);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, encoding)) {
+      for (long i = 0; i < lines; i++) {
+        writer.write(line);
+        writer.write('\n');
+      }
+    }
+  }
+
+  /**
+   * A class loader which contains the fixture and copies of classes which have to be loaded by it.
+   */
+  static final class FixtureClassLoader extends URLClassLoader {
+
+    FixtureClassLoader(Path directory) {
+      super(new URL[] {url(directory)}, Fixture.class.getClassLoader());
+    }
+
+    /**
+     * @return A copy of the given class which is defined by this class loader, so
+     * {@link Class#getClassLoader()} returns this class loader.
+     */
+    Class<?> defineCopy(Class<?> type) {
+      String resource = type.getName().replace('.', '/') + ".class";
+      try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+        byte[] bytes = ResourceDecoder.readAllBytes(Channels.newChannel(in), -1);
+        return defineClass(type.getName(), bytes, 0, bytes.length);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private static URL url(Path directory) {
+      try {
+        return directory.toUri().toURL();
+      } catch (MalformedURLException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
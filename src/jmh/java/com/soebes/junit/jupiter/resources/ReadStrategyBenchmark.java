@@ -0,0 +1,73 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a whole resource with every {@link ReadStrategy} to find the thresholds of the
+ * {@link ReadConfiguration} which fit a machine best.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ReadStrategyBenchmark {
+
+  /**
+   * The name of the {@link ReadStrategy}, which is not public and can therefore not be a parameter itself.
+   */
+  @Param({"HEAP", "CHANNEL", "MAPPED"})
+  public String strategy;
+
+  @Param({"65536"})
+  public int bufferSize;
+
+  @Benchmark
+  public byte[] readBytes(Fixture fixture) throws IOException {
+    Path path = fixture.directory().resolve(Fixture.NAME);
+    return ReadStrategy.valueOf(strategy).readBytes(path, Files.size(path), bufferSize);
+  }
+
+  @Benchmark
+  public String readString(Fixture fixture) throws IOException {
+    Path path = fixture.directory().resolve(Fixture.NAME);
+    return ReadStrategy.valueOf(strategy).readString(path, Files.size(path), Charset.forName(fixture.charset), bufferSize);
+  }
+}
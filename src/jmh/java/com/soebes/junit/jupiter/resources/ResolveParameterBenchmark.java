@@ -0,0 +1,121 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TestResourceExtension#resolveParameter} including the inspection of the parameter
+ * and the {@link ResourceCache}.
+ * <p>
+ * A cold lookup resolves a parameter of a freshly loaded test class within a new root context,
+ * so neither the resolution plan nor the content is cached. A warm lookup resolves the same
+ * parameter within the same root context again and again.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ResolveParameterBenchmark {
+
+  private static final TestResourceExtension EXTENSION = new TestResourceExtension();
+
+  @State(Scope.Benchmark)
+  public static class Resolution {
+
+    @Param({"STRING", "BYTES", "LINES"})
+    public String kind;
+
+    private String methodName;
+
+    private Fixture.FixtureClassLoader warmClassLoader;
+
+    private BenchmarkContext warmContext;
+
+    private ParameterContext warmParameter;
+
+    @Setup
+    public void setUp(Fixture fixture) throws NoSuchMethodException {
+      methodName = kind.toLowerCase() + "_" + fixture.charset.replace('-', '_');
+      warmClassLoader = new Fixture.FixtureClassLoader(fixture.directory());
+      Class<?> target = warmClassLoader.defineCopy(ResolveParameterTarget.class);
+      warmContext = new BenchmarkContext(target);
+      warmParameter = BenchmarkContext.parameterContext(parameter(target));
+    }
+
+    @TearDown
+    public void tearDown() throws Throwable {
+      warmContext.close();
+      warmClassLoader.close();
+    }
+
+    Parameter parameter(Class<?> target) throws NoSuchMethodException {
+      for (Method method : target.getDeclaredMethods()) {
+        if (method.getName().equals(methodName)) {
+          return method.getParameters()[0];
+        }
+      }
+      throw new NoSuchMethodException(methodName);
+    }
+  }
+
+  @Benchmark
+  public Object resolveParameter(Fixture fixture, Resolution resolution) throws Throwable {
+    if (fixture.lookup == Fixture.Lookup.WARM) {
+      return content(EXTENSION.resolveParameter(resolution.warmParameter, resolution.warmContext.extensionContext()));
+    }
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    Class<?> target = classLoader.defineCopy(ResolveParameterTarget.class);
+    BenchmarkContext context = new BenchmarkContext(target);
+    try {
+      return content(EXTENSION.resolveParameter(BenchmarkContext.parameterContext(resolution.parameter(target)),
+          context.extensionContext()));
+    } finally {
+      context.close();
+      fixture.release(classLoader);
+    }
+  }
+
+  /**
+   * Injected {@link ResourceContentLines} are read on first access which is part of the measurement.
+   */
+  private static Object content(Object resolved) {
+    return resolved instanceof ResourceContentLines ? ((ResourceContentLines) resolved).getContent() : resolved;
+  }
+}
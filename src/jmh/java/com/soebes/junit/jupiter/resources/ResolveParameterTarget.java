@@ -0,0 +1,56 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * The injection points used by the {@link ResolveParameterBenchmark}. The method names are
+ * built from the kind of the parameter and the charset of the fixture.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResolveParameterTarget {
+
+  void string_UTF_8(@ResourceRead(value = Fixture.NAME, encoding = "UTF-8") String content) {
+  }
+
+  void string_ISO_8859_1(@ResourceRead(value = Fixture.NAME, encoding = "ISO-8859-1") String content) {
+  }
+
+  void string_UTF_16(@ResourceRead(value = Fixture.NAME, encoding = "UTF-16") String content) {
+  }
+
+  void bytes_UTF_8(@ResourceRead(value = Fixture.NAME, encoding = "UTF-8") byte[] content) {
+  }
+
+  void bytes_ISO_8859_1(@ResourceRead(value = Fixture.NAME, encoding = "ISO-8859-1") byte[] content) {
+  }
+
+  void bytes_UTF_16(@ResourceRead(value = Fixture.NAME, encoding = "UTF-16") byte[] content) {
+  }
+
+  void lines_UTF_8(@ResourceRead(value = Fixture.NAME, encoding = "UTF-8") ResourceContentLines content) {
+  }
+
+  void lines_ISO_8859_1(@ResourceRead(value = Fixture.NAME, encoding = "ISO-8859-1") ResourceContentLines content) {
+  }
+
+  void lines_UTF_16(@ResourceRead(value = Fixture.NAME, encoding = "UTF-16") ResourceContentLines content) {
+  }
+}
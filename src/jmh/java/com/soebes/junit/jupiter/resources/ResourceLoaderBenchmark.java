@@ -0,0 +1,90 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a whole resource with the {@link ResourceLoader} in the different representations.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ResourceLoaderBenchmark {
+
+  @Benchmark
+  public String asString(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    try {
+      return new ResourceLoader(classLoader, Fixture.NAME, fixture.charset).asString();
+    } finally {
+      fixture.release(classLoader);
+    }
+  }
+
+  @Benchmark
+  public byte[] asBytes(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    try {
+      return new ResourceLoader(classLoader, Fixture.NAME, fixture.charset).asBytes();
+    } finally {
+      fixture.release(classLoader);
+    }
+  }
+
+  @Benchmark
+  public List<String> asList(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    try {
+      return new ResourceLoader(classLoader, Fixture.NAME, fixture.charset).asList();
+    } finally {
+      fixture.release(classLoader);
+    }
+  }
+
+  /**
+   * Indexing all lines and decoding the line in the middle.
+   */
+  @Benchmark
+  public String asLineIndex(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    ResourceLineIndex lines = new ResourceLoader(classLoader, Fixture.NAME, fixture.charset).asLineIndex();
+    try {
+      return lines.get(lines.size() / 2);
+    } finally {
+      lines.release();
+      fixture.release(classLoader);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reading methods of {@link ResourcePath}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ResourcePathBenchmark {
+
+  @Benchmark
+  public List<String> readAllLines(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    try {
+      return new ResourcePath(classLoader).readAllLines(Fixture.NAME, Charset.forName(fixture.charset));
+    } finally {
+      fixture.release(classLoader);
+    }
+  }
+
+  @Benchmark
+  public byte[] readAllBytes(Fixture fixture) throws IOException {
+    Fixture.FixtureClassLoader classLoader = fixture.classLoader();
+    try {
+      return new ResourcePath(classLoader).readAllBytes(Fixture.NAME);
+    } finally {
+      fixture.release(classLoader);
+    }
+  }
+}
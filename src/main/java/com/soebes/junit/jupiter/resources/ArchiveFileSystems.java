@@ -0,0 +1,112 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mounts archives (jar, zip) as NIO zip {@link FileSystem}s. Each archive is mounted
+ * only once per run and the mounted file system is reused for all following resolutions.
+ * Nested archives like {@code jar:file:/a.jar!/lib/b.jar!/x.txt} are mounted from
+ * within their enclosing archive without extracting them. On JDK 8, where the zip file system
+ * only accepts files of the default file system, a nested archive is extracted into a temporary
+ * file which is deleted when the JVM exits.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ArchiveFileSystems {
+
+  private static final String SEPARATOR = "!/";
+
+  private static final ConcurrentMap<String, FileSystem> MOUNTED = new ConcurrentHashMap<>();
+
+  private ArchiveFileSystems() {
+    // intentionally empty.
+  }
+
+  /**
+   * @param url An URL with the {@code jar} protocol.
+   * @return The {@link Path} of the entry within the mounted archive.
+   */
+  static Path toPath(URL url) {
+    String spec = url.toString().substring("jar:".length());
+    String[] parts = spec.split(SEPARATOR);
+    if (parts.length < 2) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' is not an entry of an archive.", url));
+    }
+
+    String key = parts[0];
+    FileSystem fileSystem = MOUNTED.computeIfAbsent(key, k -> mount(URI.create("jar:" + k)));
+    for (int i = 1; i < parts.length - 1; i++) {
+      FileSystem enclosing = fileSystem;
+      String nested = parts[i];
+      key = key + SEPARATOR + nested;
+      fileSystem = MOUNTED.computeIfAbsent(key, k -> mount(enclosing.getPath(nested)));
+    }
+    return fileSystem.getPath(parts[parts.length - 1]);
+  }
+
+  private static FileSystem mount(URI archive) {
+    try {
+      return FileSystems.newFileSystem(archive, Collections.emptyMap());
+    } catch (FileSystemAlreadyExistsException e) {
+      // Someone else has already mounted the archive, so we reuse it.
+      return FileSystems.getFileSystem(archive);
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The archive '%s' could not be opened.", archive), e);
+    }
+  }
+
+  private static FileSystem mount(Path nestedArchive) {
+    try {
+      return FileSystems.newFileSystem(nestedArchive, (ClassLoader) null);
+    } catch (UnsupportedOperationException | ProviderNotFoundException e) {
+      return mountExtracted(nestedArchive);
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The archive '%s' could not be opened.", nestedArchive.toUri()), e);
+    }
+  }
+
+  /**
+   * Mounts a copy of the nested archive on the default file system.
+   */
+  static FileSystem mountExtracted(Path nestedArchive) {
+    try {
+      Path extracted = Files.createTempFile("resources-extension-", ".jar");
+      extracted.toFile().deleteOnExit();
+      Files.copy(nestedArchive, extracted, StandardCopyOption.REPLACE_EXISTING);
+      return FileSystems.newFileSystem(extracted, (ClassLoader) null);
+    } catch (IOException | RuntimeException e) {
+      throw new ResourceNotFoundException(String.format("The archive '%s' could not be opened.", nestedArchive.toUri()), e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Converts the content of binary resources into primitive arrays and buffers. All conversions
+ * are done in bulk via the views of a {@link ByteBuffer}, so no element is ever boxed.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class BinaryContent {
+
+  enum Type {
+    INT(Integer.BYTES),
+    LONG(Long.BYTES),
+    FLOAT(Float.BYTES),
+    DOUBLE(Double.BYTES);
+
+    private final int bytes;
+
+    Type(int bytes) {
+      this.bytes = bytes;
+    }
+  }
+
+  private BinaryContent() {
+    // intentionally empty.
+  }
+
+  /**
+   * @param content The content from its position to its limit which is not modified.
+   * @return A new {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}.
+   */
+  static Object toArray(ByteBuffer content, Type type, ByteOrder byteOrder, String resourceName) {
+    ByteBuffer source = ordered(content, type, byteOrder, resourceName);
+    switch (type) {
+      case INT:
+        int[] ints = new int[source.remaining() / type.bytes];
+        source.asIntBuffer().get(ints);
+        return ints;
+      case LONG:
+        long[] longs = new long[source.remaining() / type.bytes];
+        source.asLongBuffer().get(longs);
+        return longs;
+      case FLOAT:
+        float[] floats = new float[source.remaining() / type.bytes];
+        source.asFloatBuffer().get(floats);
+        return floats;
+      default:
+        double[] doubles = new double[source.remaining() / type.bytes];
+        source.asDoubleBuffer().get(doubles);
+        return doubles;
+    }
+  }
+
+  /**
+   * @param content The content from its position to its limit which is not modified.
+   * @return An {@link java.nio.IntBuffer}, {@link java.nio.LongBuffer}, {@link java.nio.FloatBuffer}
+   * or {@link java.nio.DoubleBuffer} view of the content which is read-only if the content is read-only.
+   */
+  static Buffer toBuffer(ByteBuffer content, Type type, ByteOrder byteOrder, String resourceName) {
+    ByteBuffer source = ordered(content, type, byteOrder, resourceName);
+    switch (type) {
+      case INT:
+        return source.asIntBuffer();
+      case LONG:
+        return source.asLongBuffer();
+      case FLOAT:
+        return source.asFloatBuffer();
+      default:
+        return source.asDoubleBuffer();
+    }
+  }
+
+  private static ByteBuffer ordered(ByteBuffer content, Type type, ByteOrder byteOrder, String resourceName) {
+    if (content.remaining() % type.bytes != 0) {
+      throw new IllegalArgumentException(String.format(
+          "The size of the resource '%s' (%d bytes) is not a multiple of the size of a %s (%d bytes).",
+          resourceName, content.remaining(), type.name().toLowerCase(Locale.ROOT), type.bytes));
+    }
+    // duplicate() so the order of the given buffer is not changed.
+    return content.duplicate().order(byteOrder);
+  }
+}
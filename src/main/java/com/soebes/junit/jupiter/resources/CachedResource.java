@@ -0,0 +1,173 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * The content of a single resource read once from disk. All representations
+ * ({@link String}, lines, {@code byte[]}) are derived from the same entry and
+ * the decoded forms are memoized on first access. Their memory is part of {@link #size()}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class CachedResource {
+
+  /**
+   * The estimated overhead of a {@link String} object including its array on a 64 bit JVM.
+   */
+  private static final long STRING_OVERHEAD = 40;
+
+  private final byte[] bytes;
+  private final Charset encoding;
+  private final LongConsumer growth;
+
+  private volatile String text;
+  private volatile List<String> lines;
+
+  private long decodedSize;
+
+  CachedResource(byte[] bytes, Charset encoding) {
+    this(bytes, encoding, null);
+  }
+
+  /**
+   * @param growth Is informed about the number of bytes which are added to {@link #size()} whenever
+   * a decoded form is memoized. May be {@code null}.
+   */
+  CachedResource(byte[] bytes, Charset encoding, LongConsumer growth) {
+    this.bytes = bytes;
+    this.encoding = encoding;
+    this.growth = growth;
+  }
+
+  /**
+   * @return The estimated number of bytes which are occupied by this entry, including the memoized
+   * {@link String} and lines. Characters are counted with two bytes each, as they are stored on JDK 8.
+   */
+  synchronized long size() {
+    return bytes.length + decodedSize;
+  }
+
+  /**
+   * @return A copy of the raw content, so the caller is free to modify it.
+   */
+  byte[] asBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * @return A read-only view of the raw content without copying it.
+   */
+  ByteBuffer asByteBuffer() {
+    return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+  }
+
+  String asString() {
+    String result = this.text;
+    if (result == null) {
+      long added = 0;
+      synchronized (this) {
+        result = this.text;
+        if (result == null) {
+          result = ResourceDecoder.decode(bytes, 0, bytes.length, encoding);
+          this.text = result;
+          added = sizeOf(result);
+          decodedSize += added;
+        }
+      }
+      grown(added);
+    }
+    return result;
+  }
+
+  /**
+   * @return The content split into lines like {@link java.io.BufferedReader#readLine()} does.
+   * The returned list is unmodifiable because it is shared between all consumers.
+   */
+  List<String> asLines() {
+    List<String> result = this.lines;
+    if (result == null) {
+      String content = asString();
+      long added = 0;
+      synchronized (this) {
+        result = this.lines;
+        if (result == null) {
+          List<String> split = split(content);
+          result = Collections.unmodifiableList(split);
+          this.lines = result;
+          // The lines are copies of the content and the list holds a reference per line.
+          long size = 16L + 8L * split.size();
+          for (String line : split) {
+            size += sizeOf(line);
+          }
+          added = size;
+          decodedSize += added;
+        }
+      }
+      grown(added);
+    }
+    return result;
+  }
+
+  /**
+   * Called without holding the lock of this instance, because the listener may call {@link #size()}
+   * of other instances while holding its own lock.
+   */
+  private void grown(long size) {
+    if (growth != null && size > 0) {
+      growth.accept(size);
+    }
+  }
+
+  private static long sizeOf(String value) {
+    return STRING_OVERHEAD + 2L * value.length();
+  }
+
+  /**
+   * Split the given content at {@code \n}, {@code \r} or {@code \r\n}. A line terminator
+   * at the end of the content does not produce a trailing empty line.
+   */
+  static List<String> split(String content) {
+    List<String> result = new ArrayList<>();
+    int length = content.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = content.charAt(i);
+      if (c == '\n' || c == '\r') {
+        result.add(content.substring(start, i));
+        if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+          i++;
+        }
+        start = i + 1;
+      }
+    }
+    if (start < length) {
+      result.add(content.substring(start));
+    }
+    return result;
+  }
+
+}
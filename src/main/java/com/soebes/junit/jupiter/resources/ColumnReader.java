@@ -0,0 +1,174 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Collects a single column of delimited text into a primitive array while the text is parsed.
+ * Nothing but the array is kept in memory.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ColumnReader implements DelimitedParser.FieldHandler {
+
+  enum Type {
+    INT("int"),
+    LONG("long"),
+    DOUBLE("double");
+
+    private final String label;
+
+    Type(String label) {
+      this.label = label;
+    }
+  }
+
+  private final String resourceName;
+
+  private final Charset charset;
+
+  private final Type type;
+
+  private final boolean header;
+
+  private final String name;
+
+  private int column;
+
+  private int[] ints;
+
+  private long[] longs;
+
+  private double[] doubles;
+
+  private int size;
+
+  private boolean found;
+
+  /**
+   * @param name The name of the column in the header or an empty string to use {@code index}.
+   * @param index The index of the column starting with {@code 0}, only used if no name is given.
+   */
+  ColumnReader(String resourceName, Charset charset, Type type, boolean header, String name, int index) {
+    if (!name.isEmpty() && !header) {
+      throw new IllegalArgumentException(String.format(
+          "The column '%s' of the resource '%s' can only be selected by name if the resource has a header.",
+          name, resourceName));
+    }
+    if (name.isEmpty() && index < 0) {
+      throw new IllegalArgumentException(
+          String.format("Neither the name nor the index of a column of the resource '%s' is given.", resourceName));
+    }
+    this.resourceName = resourceName;
+    this.charset = charset;
+    this.type = type;
+    this.header = header;
+    this.name = name;
+    this.column = name.isEmpty() ? index : -1;
+    switch (type) {
+      case INT:
+        ints = new int[1024];
+        break;
+      case LONG:
+        longs = new long[1024];
+        break;
+      default:
+        doubles = new double[1024];
+    }
+  }
+
+  @Override
+  public void field(int record, int column, byte[] buffer, int start, int end, boolean quoted) {
+    if (header && record == 0) {
+      if (this.column < 0 && name.equals(ResourceTable.unquote(buffer, start, end, quoted, charset))) {
+        this.column = column;
+      }
+      return;
+    }
+    if (column != this.column) {
+      return;
+    }
+    found = true;
+    try {
+      ensureCapacity();
+      switch (type) {
+        case INT:
+          ints[size++] = Numbers.parseInt(buffer, start, end);
+          break;
+        case LONG:
+          longs[size++] = Numbers.parseLong(buffer, start, end);
+          break;
+        default:
+          doubles[size++] = Numbers.parseDouble(buffer, start, end);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format(
+          "The value '%s' in record %d of column %d of the resource '%s' is not a valid %s.",
+          new String(buffer, start, end - start, charset), record + 1, column, resourceName, type.label), e);
+    }
+  }
+
+  @Override
+  public void endOfRecord(int record, int columns) {
+    if (header && record == 0) {
+      if (column < 0) {
+        throw new IllegalArgumentException(
+            String.format("The column '%s' does not exist in the resource '%s'.", name, resourceName));
+      }
+      return;
+    }
+    if (!found) {
+      throw new IllegalArgumentException(
+          String.format("The record %d of the resource '%s' has no column %d.", record + 1, resourceName, column));
+    }
+    found = false;
+  }
+
+  /**
+   * @return The collected values as {@code int[]}, {@code long[]} or {@code double[]}.
+   */
+  Object values() {
+    switch (type) {
+      case INT:
+        return Arrays.copyOf(ints, size);
+      case LONG:
+        return Arrays.copyOf(longs, size);
+      default:
+        return Arrays.copyOf(doubles, size);
+    }
+  }
+
+  private void ensureCapacity() {
+    int capacity = ints != null ? ints.length : longs != null ? longs.length : doubles.length;
+    if (size < capacity) {
+      return;
+    }
+    int grown = capacity * 2;
+    if (ints != null) {
+      ints = Arrays.copyOf(ints, grown);
+    } else if (longs != null) {
+      longs = Arrays.copyOf(longs, grown);
+    } else {
+      doubles = Arrays.copyOf(doubles, grown);
+    }
+  }
+}
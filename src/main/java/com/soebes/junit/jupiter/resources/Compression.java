@@ -0,0 +1,175 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The compression of a resource which is transparently removed while reading.
+ * <p>
+ * gzip is detected by its magic bytes, independent of the extension. zip and deflate are
+ * only detected by their extensions {@code .zip} and {@code .deflate}, because many binary formats
+ * (jar, docx, ...) are zip files which are expected to be read as they are. A {@code .zip} file
+ * whose magic bytes do not match is read unchanged.
+ *
+ * @author Karl Heinz Marbaise
+ */
+enum Compression {
+  NONE,
+  GZIP,
+  ZIP,
+  DEFLATE;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  static Compression of(Path path) throws IOException {
+    String name = String.valueOf(path.getFileName()).toLowerCase(Locale.ROOT);
+    byte[] magic = new byte[4];
+    int read;
+    try (InputStream in = Files.newInputStream(path)) {
+      read = readFully(in, magic);
+    }
+    boolean gzipMagic = read >= 3 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b && magic[2] == 8;
+    if (gzipMagic) {
+      return GZIP;
+    }
+    if (name.endsWith(".zip") && read == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+      return ZIP;
+    }
+    if (name.endsWith(".deflate") && read > 0) {
+      return DEFLATE;
+    }
+    return NONE;
+  }
+
+  boolean isCompressed() {
+    return this != NONE;
+  }
+
+  /**
+   * @param path The compressed file.
+   * @return A stream of the decompressed content. The compressed content is never held completely in memory.
+   */
+  InputStream open(Path path) throws IOException {
+    InputStream in = Files.newInputStream(path);
+    try {
+      switch (this) {
+        case GZIP:
+          return new GZIPInputStream(in, BUFFER_SIZE);
+        case ZIP:
+          ZipInputStream zip = new ZipInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+          ZipEntry entry = zip.getNextEntry();
+          while (entry != null && entry.isDirectory()) {
+            entry = zip.getNextEntry();
+          }
+          if (entry == null) {
+            zip.close();
+            throw new IOException(String.format("The archive '%s' does not contain any file.", path));
+          }
+          return zip;
+        case DEFLATE:
+          BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+          return new ReleasingInflaterInputStream(buffered, new Inflater(!hasZlibHeader(buffered)));
+        default:
+          return in;
+      }
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return The expected size of the decompressed content or {@code -1} if it is unknown.
+   */
+  long expectedSize(Path path) throws IOException {
+    switch (this) {
+      case NONE:
+        return Files.size(path);
+      case GZIP:
+        // The last four bytes of a gzip file contain the uncompressed size modulo 2^32.
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+          if (channel.size() < 18) {
+            return -1;
+          }
+          ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+          channel.position(channel.size() - 4);
+          while (trailer.hasRemaining() && channel.read(trailer) > 0) {
+            // read the complete trailer.
+          }
+          // Cast for compatibility with JDK 8 where flip() is only declared by Buffer.
+          ((Buffer) trailer).flip();
+          return trailer.remaining() == 4 ? trailer.getInt() & 0xffffffffL : -1;
+        }
+      default:
+        return -1;
+    }
+  }
+
+  private static boolean hasZlibHeader(BufferedInputStream in) throws IOException {
+    in.mark(2);
+    int cmf = in.read();
+    int flg = in.read();
+    in.reset();
+    return cmf >= 0 && flg >= 0 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+  }
+
+  private static int readFully(InputStream in, byte[] buffer) throws IOException {
+    int total = 0;
+    int read;
+    while (total < buffer.length && (read = in.read(buffer, total, buffer.length - total)) > 0) {
+      total += read;
+    }
+    return total;
+  }
+
+  /**
+   * An {@link InflaterInputStream} does not release a given {@link Inflater} on close.
+   */
+  private static final class ReleasingInflaterInputStream extends InflaterInputStream {
+
+    ReleasingInflaterInputStream(InputStream in, Inflater inflater) {
+      super(in, inflater, BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        inf.end();
+      }
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Splits delimited text (CSV, TSV, ...) into records and fields without creating any objects
+ * per field. Fields are handed over as ranges of the internal buffer, so numbers can be parsed
+ * directly from the bytes. Fields may be enclosed in double quotes which allows delimiters and
+ * line terminators within a field; the range of a quoted field excludes the enclosing quotes.
+ * Blank lines are skipped.
+ * <p>
+ * The content must be encoded in a charset which encodes delimiters, quotes and line terminators
+ * as single bytes (see {@link ResourceLineIndex#isIndexable}).
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class DelimitedParser {
+
+  interface FieldHandler {
+
+    /**
+     * @param record The index of the record, starting with {@code 0} for the first non blank line.
+     * @param column The index of the field within the record.
+     * @param buffer The buffer which contains the field. It is only valid during the call.
+     * @param start The start of the field in the buffer.
+     * @param end The end (exclusive) of the field in the buffer.
+     * @param quoted {@code true} if the field has been enclosed in double quotes.
+     */
+    void field(int record, int column, byte[] buffer, int start, int end, boolean quoted);
+
+    /**
+     * @param record The index of the finished record.
+     * @param columns The number of fields of the record.
+     */
+    void endOfRecord(int record, int columns);
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final byte QUOTE = '"';
+
+  private static final byte LF = '\n';
+
+  private static final byte CR = '\r';
+
+  private final byte delimiter;
+
+  DelimitedParser(char delimiter) {
+    if (delimiter == 0 || delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+      throw new IllegalArgumentException(String.format("The delimiter '%s' is not supported.", delimiter));
+    }
+    this.delimiter = (byte) delimiter;
+  }
+
+  /**
+   * @return The delimiter for the given resource name if none is given explicitly: a tab for
+   * {@code .tsv} and {@code .tab} files (also compressed) otherwise a comma.
+   */
+  static char delimiterOf(String resourceName, char delimiter) {
+    if (delimiter != 0) {
+      return delimiter;
+    }
+    String name = resourceName.toLowerCase(Locale.ROOT);
+    return name.matches(".*\\.(tsv|tab)(\\.(gz|zip|deflate))?") ? '\t' : ',';
+  }
+
+  /**
+   * Parses the whole content which is already in memory.
+   */
+  void parse(byte[] content, int length, FieldHandler handler) {
+    int record = 0;
+    int position = skipBlankLines(content, 0, length);
+    while (position < length) {
+      int end = recordEnd(content, position, length);
+      tokenize(content, position, end, record++, handler);
+      position = skipBlankLines(content, end, length);
+    }
+  }
+
+  /**
+   * Parses the content of the channel in chunks. Only the current record has to fit into memory.
+   */
+  void parse(ReadableByteChannel channel, FieldHandler handler) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int limit = 0;
+    int position = 0;
+    boolean endOfInput = false;
+    int record = 0;
+    while (true) {
+      position = skipBlankLines(buffer, position, limit);
+      int end = position < limit ? recordEnd(buffer, position, limit) : limit;
+      // A record is only complete if its terminator is in the buffer or the input is exhausted.
+      if (end < limit || (endOfInput && position < limit)) {
+        tokenize(buffer, position, end, record++, handler);
+        position = end;
+        continue;
+      }
+      if (endOfInput) {
+        return;
+      }
+      // Move the incomplete record to the start and refill the buffer.
+      int remaining = limit - position;
+      if (position == 0 && remaining == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      } else {
+        System.arraycopy(buffer, position, buffer, 0, remaining);
+      }
+      position = 0;
+      limit = remaining;
+      ByteBuffer target = ByteBuffer.wrap(buffer, limit, buffer.length - limit);
+      int read;
+      do {
+        read = channel.read(target);
+      } while (read == 0);
+      if (read < 0) {
+        endOfInput = true;
+      } else {
+        limit += read;
+      }
+    }
+  }
+
+  /**
+   * @return The position of the line terminator which ends the record or {@code limit}.
+   */
+  private static int recordEnd(byte[] buffer, int position, int limit) {
+    boolean quoted = false;
+    for (int i = position; i < limit; i++) {
+      byte value = buffer[i];
+      if (value == QUOTE) {
+        quoted = !quoted;
+      } else if (!quoted && (value == LF || value == CR)) {
+        return i;
+      }
+    }
+    return limit;
+  }
+
+  private static int skipBlankLines(byte[] buffer, int position, int limit) {
+    while (position < limit && (buffer[position] == LF || buffer[position] == CR)) {
+      position++;
+    }
+    return position;
+  }
+
+  private void tokenize(byte[] buffer, int start, int end, int record, FieldHandler handler) {
+    int column = 0;
+    int position = start;
+    while (true) {
+      if (position < end && buffer[position] == QUOTE) {
+        int closing = position + 1;
+        while (closing < end && (buffer[closing] != QUOTE || (closing + 1 < end && buffer[closing + 1] == QUOTE))) {
+          closing += buffer[closing] == QUOTE ? 2 : 1;
+        }
+        handler.field(record, column++, buffer, position + 1, closing, true);
+        position = closing + 1;
+        while (position < end && buffer[position] != delimiter) {
+          position++;
+        }
+      } else {
+        int fieldEnd = position;
+        while (fieldEnd < end && buffer[fieldEnd] != delimiter) {
+          fieldEnd++;
+        }
+        handler.field(record, column++, buffer, position, fieldEnd, false);
+        position = fieldEnd;
+      }
+      if (position >= end) {
+        break;
+      }
+      // Skip the delimiter.
+      position++;
+    }
+    handler.endOfRecord(record, column);
+  }
+}
@@ -0,0 +1,177 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Compares two contents chunk by chunk and stops at the first difference. Only two chunks and
+ * the context of the difference are held in memory independent of the size of the contents.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class GoldenComparison {
+
+  /**
+   * The maximum number of bytes shown before and after a difference.
+   */
+  static final int CONTEXT = 32;
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private GoldenComparison() {
+    // intentionally empty.
+  }
+
+  /**
+   * The first difference of two contents. Lines and columns start with {@code 1}, the column
+   * is counted in bytes.
+   */
+  static final class Difference {
+
+    private final long offset;
+
+    private final long line;
+
+    private final long column;
+
+    private final byte[] before;
+
+    private final byte[] expected;
+
+    private final byte[] actual;
+
+    Difference(long offset, long line, long column, byte[] before, byte[] expected, byte[] actual) {
+      this.offset = offset;
+      this.line = line;
+      this.column = column;
+      this.before = before;
+      this.expected = expected;
+      this.actual = actual;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    long getLine() {
+      return line;
+    }
+
+    long getColumn() {
+      return column;
+    }
+
+    /**
+     * @return The bytes which are equal in both contents right before the difference.
+     */
+    byte[] getBefore() {
+      return before;
+    }
+
+    /**
+     * @return The expected bytes starting at the difference. Empty if the expected content ends there.
+     */
+    byte[] getExpected() {
+      return expected;
+    }
+
+    /**
+     * @return The actual bytes starting at the difference. Empty if the actual content ends there.
+     */
+    byte[] getActual() {
+      return actual;
+    }
+  }
+
+  /**
+   * @param expected The expected content. It is not closed.
+   * @param actual The actual content. It is not closed.
+   * @return The first difference or {@code null} if both contents are equal.
+   */
+  static Difference compare(ReadableByteChannel expected, ReadableByteChannel actual) throws IOException {
+    byte[] expectedChunk = new byte[CHUNK_SIZE];
+    byte[] actualChunk = new byte[CHUNK_SIZE];
+    byte[] tail = new byte[0];
+    long offset = 0;
+    long line = 1;
+    long lineStart = 0;
+    while (true) {
+      int expectedLength = readFully(expected, expectedChunk, 0, CHUNK_SIZE);
+      int actualLength = readFully(actual, actualChunk, 0, CHUNK_SIZE);
+      int length = Math.min(expectedLength, actualLength);
+      int index = 0;
+      while (index < length && expectedChunk[index] == actualChunk[index]) {
+        if (expectedChunk[index] == '\n') {
+          line++;
+          lineStart = offset + index + 1;
+        }
+        index++;
+      }
+      // A chunk is only shorter than CHUNK_SIZE at the end of the content.
+      if (index < length || expectedLength != actualLength) {
+        return new Difference(offset + index, line, offset + index - lineStart + 1,
+            before(tail, expectedChunk, index),
+            after(expected, expectedChunk, index, expectedLength),
+            after(actual, actualChunk, index, actualLength));
+      }
+      if (length < CHUNK_SIZE) {
+        return null;
+      }
+      tail = Arrays.copyOfRange(expectedChunk, CHUNK_SIZE - CONTEXT, CHUNK_SIZE);
+      offset += length;
+    }
+  }
+
+  private static byte[] before(byte[] tail, byte[] chunk, int index) {
+    if (index >= CONTEXT) {
+      return Arrays.copyOfRange(chunk, index - CONTEXT, index);
+    }
+    int fromTail = Math.min(tail.length, CONTEXT - index);
+    byte[] result = new byte[fromTail + index];
+    System.arraycopy(tail, tail.length - fromTail, result, 0, fromTail);
+    System.arraycopy(chunk, 0, result, fromTail, index);
+    return result;
+  }
+
+  /**
+   * Reads the rest of the context from the channel if the difference is located at the end of the chunk.
+   */
+  private static byte[] after(ReadableByteChannel channel, byte[] chunk, int index, int length) throws IOException {
+    byte[] result = new byte[CONTEXT];
+    int available = Math.min(CONTEXT, length - index);
+    System.arraycopy(chunk, index, result, 0, available);
+    if (length == CHUNK_SIZE && available < CONTEXT) {
+      available += readFully(channel, result, available, CONTEXT - available);
+    }
+    return Arrays.copyOf(result, available);
+  }
+
+  private static int readFully(ReadableByteChannel channel, byte[] buffer, int offset, int length) throws IOException {
+    ByteBuffer target = ByteBuffer.wrap(buffer, offset, length);
+    while (target.hasRemaining() && channel.read(target) >= 0) {
+      // continue until the buffer is full or the end of the content is reached.
+    }
+    return target.position() - offset;
+  }
+}
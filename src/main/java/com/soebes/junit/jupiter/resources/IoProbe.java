@@ -0,0 +1,135 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.function.Supplier;
+
+/**
+ * Collects what happens while a single parameter is resolved: the number of bytes which
+ * have been read, the time spent in decoding and how the content was obtained. A probe is
+ * only active on the thread which resolves the parameter and only if instrumentation is
+ * enabled, otherwise all hooks return immediately. Work which is done on other threads on
+ * behalf of the resolution is measured by {@link #attached(Supplier)}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class IoProbe {
+
+  private static final ThreadLocal<IoProbe> ACTIVE = new ThreadLocal<>();
+
+  private long bytesRead;
+
+  private long decodeNanos;
+
+  private ResourceResolution.Mode mode;
+
+  private IoProbe() {
+    // intentionally empty.
+  }
+
+  static IoProbe start() {
+    IoProbe probe = new IoProbe();
+    ACTIVE.set(probe);
+    return probe;
+  }
+
+  void stop() {
+    ACTIVE.remove();
+  }
+
+  static boolean isActive() {
+    return ACTIVE.get() != null;
+  }
+
+  /**
+   * @return The probe of the current thread or {@code null} if none is active.
+   */
+  static IoProbe current() {
+    return ACTIVE.get();
+  }
+
+  /**
+   * Runs the given task on the current thread while this probe is active, so everything the task
+   * reads is added to this probe. Used for reads on other threads than the resolving one.
+   */
+  <T> T attached(Supplier<T> task) {
+    IoProbe previous = ACTIVE.get();
+    ACTIVE.set(this);
+    try {
+      return task.get();
+    } finally {
+      if (previous != null) {
+        ACTIVE.set(previous);
+      } else {
+        ACTIVE.remove();
+      }
+    }
+  }
+
+  static void bytesRead(long bytes) {
+    IoProbe probe = ACTIVE.get();
+    if (probe != null && bytes > 0) {
+      synchronized (probe) {
+        probe.bytesRead += bytes;
+      }
+    }
+  }
+
+  static void decoded(long nanos) {
+    IoProbe probe = ACTIVE.get();
+    if (probe != null) {
+      synchronized (probe) {
+        probe.decodeNanos += nanos;
+      }
+    }
+  }
+
+  /**
+   * Records how the content has been obtained. The first recorded mode wins, except that a
+   * {@link ResourceResolution.Mode#CACHE_MISS} replaces a hit, so several resources which are
+   * resolved together count as a load if any of them had to be read.
+   */
+  static void mode(ResourceResolution.Mode mode) {
+    IoProbe probe = ACTIVE.get();
+    if (probe != null) {
+      synchronized (probe) {
+        if (probe.mode == null || (mode == ResourceResolution.Mode.CACHE_MISS
+            && (probe.mode == ResourceResolution.Mode.CACHE_HIT || probe.mode == ResourceResolution.Mode.PREFETCHED))) {
+          probe.mode = mode;
+        }
+      }
+    }
+  }
+
+  synchronized long getBytesRead() {
+    return bytesRead;
+  }
+
+  synchronized long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+  /**
+   * @return The recorded mode or {@code null} if none has been recorded.
+   */
+  synchronized ResourceResolution.Mode getMode() {
+    return mode;
+  }
+}
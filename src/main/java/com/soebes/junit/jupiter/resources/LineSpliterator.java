@@ -0,0 +1,141 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the lines of a {@link MappedFile} which splits well for parallel streams.
+ * A split divides the remaining bytes in the middle and moves the split point forward to the start of
+ * the next line, so no line is decoded twice and the order of the lines is kept. Line terminators are
+ * the same as for {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * The charset must encode line terminators as single bytes, see {@link ResourceLineIndex#isIndexable}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class LineSpliterator implements Spliterator<String> {
+
+  /**
+   * Ranges smaller than this are not split any further, because the overhead
+   * would be larger than the gain.
+   */
+  static final long MIN_SPLIT_SIZE = 64 * 1024;
+
+  private static final byte LF = '\n';
+
+  private static final byte CR = '\r';
+
+  private final MappedFile file;
+
+  private final Charset charset;
+
+  private final long minSplitSize;
+
+  private long position;
+
+  private final long end;
+
+  LineSpliterator(MappedFile file, Charset charset) {
+    this(file, charset, MIN_SPLIT_SIZE, 0, file.size());
+  }
+
+  LineSpliterator(MappedFile file, Charset charset, long minSplitSize, long position, long end) {
+    this.file = file;
+    this.charset = charset;
+    this.minSplitSize = minSplitSize;
+    this.position = position;
+    this.end = end;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    if (position >= end) {
+      return false;
+    }
+    long lineEnd = nextTerminator(position);
+    int length = (int) (lineEnd - position);
+    String line = ResourceDecoder.decode(file.get(position, length), 0, length, charset);
+    position = nextLine(lineEnd);
+    action.accept(line);
+    return true;
+  }
+
+  @Override
+  public Spliterator<String> trySplit() {
+    long remaining = end - position;
+    if (remaining < minSplitSize || remaining < 2) {
+      return null;
+    }
+    long middle = nextTerminator(position + remaining / 2);
+    if (middle >= end) {
+      return null;
+    }
+    long split = nextLine(middle);
+    if (split >= end) {
+      return null;
+    }
+    LineSpliterator prefix = new LineSpliterator(file, charset, minSplitSize, position, split);
+    position = split;
+    return prefix;
+  }
+
+  /**
+   * @return The number of remaining bytes as the number of lines is unknown.
+   */
+  @Override
+  public long estimateSize() {
+    return end - position;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+
+  /**
+   * @return The position of the next line terminator or the end of the range.
+   */
+  private long nextTerminator(long from) {
+    for (long current = from; current < end; current++) {
+      byte value = file.get(current);
+      if (value == LF || value == CR) {
+        return current;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * @param terminator The position of a line terminator or of the end of the range.
+   * @return The start of the following line.
+   */
+  private long nextLine(long terminator) {
+    if (terminator >= end) {
+      return end;
+    }
+    if (file.get(terminator) == CR && terminator + 1 < end && file.get(terminator + 1) == LF) {
+      return terminator + 2;
+    }
+    return terminator + 1;
+  }
+}
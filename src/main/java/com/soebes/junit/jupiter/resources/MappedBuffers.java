@@ -0,0 +1,109 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Creates read-only memory mappings of resources and releases them deterministically.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class MappedBuffers {
+
+  /**
+   * Files smaller than this are read onto the heap instead of being mapped,
+   * because a mapping costs more than a plain read for small files. It is the default
+   * of {@link ReadConfiguration#MAPPING_THRESHOLD_PROPERTY}.
+   */
+  static final long MAPPING_THRESHOLD = 1024L * 1024;
+
+  private MappedBuffers() {
+    // intentionally empty.
+  }
+
+  static boolean isMappable(Path path) {
+    return path.getFileSystem() == FileSystems.getDefault();
+  }
+
+  /**
+   * @param path The file to map. It must be located on the default file system.
+   * @return A read-only mapping of the whole file.
+   * @throws IOException in case of failure to open or map the file.
+   * @throws IllegalStateException if the file is larger than a single mapping can be.
+   *   Such files can only be read segment by segment via {@link MappedFile}.
+   */
+  static MappedByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalStateException(String.format(
+            "The resource '%s' has %d bytes which is more than the %d bytes that can be read at once."
+                + " Read it via its lines or chunks instead.", path, size, Integer.MAX_VALUE));
+      }
+      // The mapping stays valid after the channel has been closed.
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Releases the mapping immediately instead of waiting for the garbage collector.
+   * The buffer must not be accessed afterwards. If the running JDK does not allow
+   * to release the mapping it will be released by the garbage collector.
+   */
+  static void unmap(ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    try {
+      // JDK 9+
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), buffer);
+    } catch (NoSuchMethodException e) {
+      unmapJdk8(buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Not possible on this JDK; the garbage collector will release the mapping.
+    }
+  }
+
+  private static void unmapJdk8(ByteBuffer buffer) {
+    try {
+      Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner != null) {
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Not possible on this JDK; the garbage collector will release the mapping.
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only mapping of a whole file which may be larger than 2 GiB. The file is mapped
+ * in segments, because a single {@link MappedByteBuffer} is limited to 2 GiB.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class MappedFile implements AutoCloseable {
+
+  static final int SEGMENT_SHIFT = 30;
+
+  static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+  private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private final MappedByteBuffer[] segments;
+
+  private final long size;
+
+  private MappedFile(MappedByteBuffer[] segments, long size) {
+    this.segments = segments;
+    this.size = size;
+  }
+
+  static MappedFile map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+      for (int i = 0; i < segments.length; i++) {
+        long position = (long) i << SEGMENT_SHIFT;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+      }
+      return new MappedFile(segments, size);
+    }
+  }
+
+  long size() {
+    return size;
+  }
+
+  byte get(long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+  }
+
+  /**
+   * Copies {@code length} bytes starting at {@code position} into a new array.
+   */
+  byte[] get(long position, int length) {
+    byte[] result = new byte[length];
+    int copied = 0;
+    while (copied < length) {
+      long current = position + copied;
+      MappedByteBuffer segment = segments[(int) (current >>> SEGMENT_SHIFT)];
+      int offset = (int) (current & SEGMENT_MASK);
+      int chunk = Math.min(length - copied, segment.capacity() - offset);
+      // duplicate() so concurrent readers do not interfere with each other's position.
+      ByteBuffer view = segment.duplicate();
+      // Cast for compatibility with JDK 8 where position(int) is only declared by Buffer.
+      ((Buffer) view).position(offset);
+      view.get(result, copied, chunk);
+      copied += chunk;
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    for (MappedByteBuffer segment : segments) {
+      MappedBuffers.unmap(segment);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses numbers directly from ASCII bytes without creating a {@link String}. Leading and
+ * trailing spaces are ignored. Everything which is not covered by the fast paths (for example
+ * {@code NaN}, hexadecimal floating point or more than 18 significant digits) is delegated to
+ * {@link Long#parseLong(String)} and {@link Double#parseDouble(String)} respectively, so the
+ * results and failures are the same as for those methods.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class Numbers {
+
+  /**
+   * The largest integer which can be represented exactly by a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * The powers of ten which can be represented exactly by a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * 18 digits can not overflow the long which collects them.
+   */
+  private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+  private Numbers() {
+    // intentionally empty.
+  }
+
+  static int parseInt(byte[] buffer, int start, int end) {
+    long value = parseLong(buffer, start, end);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      // Fails with the same message as Integer.parseInt.
+      return Integer.parseInt(text(buffer, start, end).trim());
+    }
+    return (int) value;
+  }
+
+  static long parseLong(byte[] buffer, int start, int end) {
+    int from = trimStart(buffer, start, end);
+    int to = trimEnd(buffer, from, end);
+    int position = from;
+    boolean negative = false;
+    if (position < to && (buffer[position] == '-' || buffer[position] == '+')) {
+      negative = buffer[position] == '-';
+      position++;
+    }
+    // 18 digits can not overflow a long.
+    if (position == to || to - position > 18) {
+      return Long.parseLong(text(buffer, from, to));
+    }
+    long value = 0;
+    for (int i = position; i < to; i++) {
+      int digit = buffer[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return Long.parseLong(text(buffer, from, to));
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Uses the fast path of Clinger: if the significant digits fit exactly into a double and the
+   * power of ten is exactly representable as well, a single multiplication or division yields
+   * the correctly rounded result.
+   */
+  static double parseDouble(byte[] buffer, int start, int end) {
+    int from = trimStart(buffer, start, end);
+    int to = trimEnd(buffer, from, end);
+    int position = from;
+    boolean negative = false;
+    if (position < to && (buffer[position] == '-' || buffer[position] == '+')) {
+      negative = buffer[position] == '-';
+      position++;
+    }
+
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean truncated = false;
+    boolean anyDigit = false;
+    for (; position < to && isDigit(buffer[position]); position++) {
+      anyDigit = true;
+      if (digits < MAX_SIGNIFICANT_DIGITS) {
+        mantissa = mantissa * 10 + (buffer[position] - '0');
+        if (mantissa != 0) {
+          digits++;
+        }
+      } else {
+        truncated = true;
+        exponent++;
+      }
+    }
+    if (position < to && buffer[position] == '.') {
+      for (position++; position < to && isDigit(buffer[position]); position++) {
+        anyDigit = true;
+        if (digits < MAX_SIGNIFICANT_DIGITS) {
+          mantissa = mantissa * 10 + (buffer[position] - '0');
+          if (mantissa != 0) {
+            digits++;
+          }
+          exponent--;
+        } else {
+          truncated = true;
+        }
+      }
+    }
+    if (anyDigit && position < to && (buffer[position] == 'e' || buffer[position] == 'E')) {
+      position++;
+      boolean negativeExponent = false;
+      if (position < to && (buffer[position] == '-' || buffer[position] == '+')) {
+        negativeExponent = buffer[position] == '-';
+        position++;
+      }
+      int explicit = 0;
+      boolean exponentDigit = false;
+      for (; position < to && isDigit(buffer[position]); position++) {
+        exponentDigit = true;
+        // Values beyond this limit are handled by the fallback anyway.
+        explicit = Math.min(explicit * 10 + (buffer[position] - '0'), 100_000);
+      }
+      if (!exponentDigit) {
+        anyDigit = false;
+      }
+      exponent += negativeExponent ? -explicit : explicit;
+    }
+
+    if (!anyDigit || position != to || truncated || mantissa > MAX_EXACT_MANTISSA
+        || exponent < -22 || exponent > 22) {
+      return Double.parseDouble(text(buffer, from, to));
+    }
+    double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  static String text(byte[] buffer, int start, int end) {
+    return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+  }
+
+  private static boolean isDigit(byte value) {
+    return value >= '0' && value <= '9';
+  }
+
+  private static int trimStart(byte[] buffer, int start, int end) {
+    while (start < end && buffer[start] == ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimEnd(byte[] buffer, int start, int end) {
+    while (end > start && buffer[end - 1] == ' ') {
+      end--;
+    }
+    return end;
+  }
+}
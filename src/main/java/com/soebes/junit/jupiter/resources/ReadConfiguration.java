@@ -0,0 +1,188 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Decides which {@link ReadStrategy} is used for a resource. By default files smaller than the heap
+ * threshold are read by {@link ReadStrategy#HEAP}, files of at least the mapping threshold are read
+ * by {@link ReadStrategy#MAPPED} and everything in between by {@link ReadStrategy#CHANNEL}.
+ * All values can be changed via configuration parameters, for example in {@code junit-platform.properties}:
+ * <pre>
+ * resources-extension.read.strategy=auto
+ * resources-extension.read.heap-threshold=16384
+ * resources-extension.read.mapping-threshold=1048576
+ * resources-extension.read.buffer-size=65536
+ * resources-extension.disk-cache.enabled=false
+ * resources-extension.disk-cache.directory=target/resources-extension-cache
+ * </pre>
+ * The number of resources read concurrently is defined by {@link ResourceExecutor#PARALLELISM_PROPERTY}.
+ * The {@link ResourceDiskCache} is only used if it has been enabled.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ReadConfiguration {
+
+  /**
+   * The name of the configuration parameter to use a single strategy for all sizes:
+   * {@code heap}, {@code channel} or {@code mapped}. The default {@code auto} selects by size.
+   */
+  static final String STRATEGY_PROPERTY = "resources-extension.read.strategy";
+
+  /**
+   * The name of the configuration parameter to define the size in bytes below which files are read by
+   * {@link ReadStrategy#HEAP}.
+   */
+  static final String HEAP_THRESHOLD_PROPERTY = "resources-extension.read.heap-threshold";
+
+  /**
+   * The name of the configuration parameter to define the size in bytes from which files are mapped.
+   */
+  static final String MAPPING_THRESHOLD_PROPERTY = "resources-extension.read.mapping-threshold";
+
+  /**
+   * The name of the configuration parameter to define the size in bytes of intermediate buffers.
+   */
+  static final String BUFFER_SIZE_PROPERTY = "resources-extension.read.buffer-size";
+
+  static final long DEFAULT_HEAP_THRESHOLD = 16L * 1024;
+
+  static final ReadConfiguration DEFAULT = new ReadConfiguration(null, DEFAULT_HEAP_THRESHOLD,
+      MappedBuffers.MAPPING_THRESHOLD, ResourceDecoder.CHUNK_SIZE, null);
+
+  private static final String AUTO = "auto";
+
+  private final ReadStrategy strategy;
+
+  private final long heapThreshold;
+
+  private final long mappingThreshold;
+
+  private final int bufferSize;
+
+  private final ResourceDiskCache diskCache;
+
+  /**
+   * @param strategy The strategy used for all sizes or {@code null} to select by size.
+   * @param diskCache The cache for decompressed content and line offsets or {@code null} if it is disabled.
+   */
+  ReadConfiguration(ReadStrategy strategy, long heapThreshold, long mappingThreshold, int bufferSize,
+      ResourceDiskCache diskCache) {
+    this.strategy = strategy;
+    this.heapThreshold = heapThreshold;
+    this.mappingThreshold = mappingThreshold;
+    this.bufferSize = bufferSize;
+    this.diskCache = diskCache;
+  }
+
+  /**
+   * @param parameters Looks up a configuration parameter, usually
+   * {@link org.junit.jupiter.api.extension.ExtensionContext#getConfigurationParameter(String)}.
+   * @throws ExtensionConfigurationException if a parameter has an invalid value.
+   */
+  static ReadConfiguration of(Function<String, Optional<String>> parameters) {
+    String strategy = parameters.apply(STRATEGY_PROPERTY).map(String::trim).orElse(AUTO);
+    boolean diskCacheEnabled = parameters.apply(ResourceDiskCache.ENABLED_PROPERTY)
+        .map(value -> Boolean.parseBoolean(value.trim()))
+        .orElse(false);
+    return new ReadConfiguration(
+        strategy(strategy),
+        size(parameters, HEAP_THRESHOLD_PROPERTY, DEFAULT.heapThreshold),
+        size(parameters, MAPPING_THRESHOLD_PROPERTY, DEFAULT.mappingThreshold),
+        (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, size(parameters, BUFFER_SIZE_PROPERTY, DEFAULT.bufferSize))),
+        diskCacheEnabled ? new ResourceDiskCache(Paths.get(parameters.apply(ResourceDiskCache.DIRECTORY_PROPERTY)
+            .map(String::trim)
+            .orElse(ResourceDiskCache.DEFAULT_DIRECTORY))) : null);
+  }
+
+  /**
+   * @param path The uncompressed file to read.
+   * @param size The size of the file in bytes.
+   * @return The strategy to read the file. Files which are not located on the default file
+   * system are never mapped, they are read by {@link ReadStrategy#CHANNEL} instead.
+   */
+  ReadStrategy select(Path path, long size) {
+    ReadStrategy selected;
+    if (strategy != null) {
+      selected = strategy;
+    } else if (size >= mappingThreshold) {
+      selected = ReadStrategy.MAPPED;
+    } else if (size < heapThreshold) {
+      selected = ReadStrategy.HEAP;
+    } else {
+      selected = ReadStrategy.CHANNEL;
+    }
+    if (selected == ReadStrategy.MAPPED && !MappedBuffers.isMappable(path)) {
+      return ReadStrategy.CHANNEL;
+    }
+    return selected;
+  }
+
+  int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * @return The disk cache or {@code null} if it is disabled.
+   */
+  ResourceDiskCache getDiskCache() {
+    return diskCache;
+  }
+
+  private static ReadStrategy strategy(String value) {
+    if (AUTO.equalsIgnoreCase(value)) {
+      return null;
+    }
+    try {
+      return ReadStrategy.valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw invalid(STRATEGY_PROPERTY, value, e);
+    }
+  }
+
+  private static long size(Function<String, Optional<String>> parameters, String property, long defaultValue) {
+    Optional<String> value = parameters.apply(property).map(String::trim);
+    if (!value.isPresent()) {
+      return defaultValue;
+    }
+    try {
+      long size = Long.parseLong(value.get());
+      if (size < 0) {
+        throw invalid(property, value.get(), null);
+      }
+      return size;
+    } catch (NumberFormatException e) {
+      throw invalid(property, value.get(), e);
+    }
+  }
+
+  private static ExtensionConfigurationException invalid(String property, String value, Exception cause) {
+    return new ExtensionConfigurationException(
+        String.format("The configuration parameter '%s' has the invalid value '%s'.", property, value), cause);
+  }
+}
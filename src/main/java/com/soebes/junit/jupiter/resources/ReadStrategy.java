@@ -0,0 +1,122 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The ways an uncompressed resource can be read completely. Which one is used is decided
+ * by the {@link ReadConfiguration} based on the size of the resource.
+ *
+ * @author Karl Heinz Marbaise
+ */
+enum ReadStrategy {
+
+  /**
+   * Reads the whole file into a new array by a single call. Intended for small files where
+   * any additional setup costs more than the read itself.
+   */
+  HEAP {
+    @Override
+    byte[] readBytes(Path path, long size, int bufferSize) throws IOException {
+      byte[] content = Files.readAllBytes(path);
+      IoProbe.bytesRead(content.length);
+      return content;
+    }
+
+    @Override
+    String readString(Path path, long size, Charset charset, int bufferSize) throws IOException {
+      byte[] content = readBytes(path, size, bufferSize);
+      return ResourceDecoder.decode(content, 0, content.length, charset);
+    }
+  },
+
+  /**
+   * Reads via a channel into buffers which are sized by the size of the file. Text is decoded
+   * from a buffer which is reused per thread or in chunks of the configured buffer size.
+   */
+  CHANNEL {
+    @Override
+    byte[] readBytes(Path path, long size, int bufferSize) throws IOException {
+      try (SeekableByteChannel channel = Files.newByteChannel(path, StandardOpenOption.READ)) {
+        return ResourceDecoder.readAllBytes(channel, size, bufferSize);
+      }
+    }
+
+    @Override
+    String readString(Path path, long size, Charset charset, int bufferSize) throws IOException {
+      try (SeekableByteChannel channel = Files.newByteChannel(path, StandardOpenOption.READ)) {
+        return ResourceDecoder.decode(channel, size, charset, bufferSize);
+      }
+    }
+  },
+
+  /**
+   * Maps the file into memory while it is copied or decoded, so the content is not read through
+   * an intermediate buffer. Only possible for files on the default file system.
+   */
+  MAPPED {
+    @Override
+    byte[] readBytes(Path path, long size, int bufferSize) throws IOException {
+      MappedByteBuffer buffer = MappedBuffers.map(path);
+      try {
+        byte[] content = new byte[buffer.remaining()];
+        buffer.get(content);
+        IoProbe.bytesRead(content.length);
+        return content;
+      } finally {
+        MappedBuffers.unmap(buffer);
+      }
+    }
+
+    @Override
+    String readString(Path path, long size, Charset charset, int bufferSize) throws IOException {
+      MappedByteBuffer buffer = MappedBuffers.map(path);
+      try {
+        IoProbe.bytesRead(buffer.remaining());
+        return ResourceDecoder.decode(buffer, charset, bufferSize);
+      } finally {
+        MappedBuffers.unmap(buffer);
+      }
+    }
+  };
+
+  /**
+   * @param path The uncompressed file to read.
+   * @param size The size of the file in bytes.
+   * @param bufferSize The size of intermediate buffers if such are needed.
+   */
+  abstract byte[] readBytes(Path path, long size, int bufferSize) throws IOException;
+
+  /**
+   * @param path The uncompressed file to read.
+   * @param size The size of the file in bytes.
+   * @param charset The charset of the content.
+   * @param bufferSize The size of intermediate buffers if such are needed.
+   */
+  abstract String readString(Path path, long size, Charset charset, int bufferSize) throws IOException;
+}
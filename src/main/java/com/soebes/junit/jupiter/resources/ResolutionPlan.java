@@ -0,0 +1,424 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The result of inspecting an injection point once: what has to be produced and
+ * which {@link ResourceRead} applies. Plans are computed only once per parameter,
+ * so repeated invocations do not need any reflection anymore.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResolutionPlan {
+
+  enum Kind {
+    STRING,
+    BYTES,
+    BYTE_BUFFER,
+    MAPPED_BYTE_BUFFER,
+    INPUT_STREAM,
+    READER,
+    CHANNEL,
+    LIST_OF_LINES,
+    LIST_OF_PATHS,
+    MAP_OF_BYTES,
+    MAP_OF_STRINGS,
+    MAP_OF_PATHS,
+    STREAM_OF_LINES,
+    STREAM_OF_CHUNKS,
+    ITERABLE_OF_CHUNKS,
+    RESOURCE_CONTENT_STRING,
+    RESOURCE_CONTENT_LINES,
+    RESOURCE_LINE_INDEX,
+    RESOURCE_PATH,
+    RESOURCE_FILE,
+    RESOURCE_GOLDEN,
+    RESOURCE_COPY_PATH,
+    RESOURCE_COPY_FILE,
+    INT_COLUMN,
+    LONG_COLUMN,
+    DOUBLE_COLUMN,
+    RESOURCE_TABLE,
+    INT_ARRAY,
+    LONG_ARRAY,
+    FLOAT_ARRAY,
+    DOUBLE_ARRAY,
+    INT_BUFFER,
+    LONG_BUFFER,
+    FLOAT_BUFFER,
+    DOUBLE_BUFFER,
+    UNSUPPORTED
+  }
+
+  static final ResolutionPlan UNSUPPORTED = new ResolutionPlan(Kind.UNSUPPORTED, null);
+
+  private final Kind kind;
+
+  private final ResourceRead resourceRead;
+
+  private final ResourceCopy resourceCopy;
+
+  private final ResourceColumn resourceColumn;
+
+  private ResolutionPlan(Kind kind, ResourceRead resourceRead) {
+    this(kind, resourceRead, null, null);
+  }
+
+  private ResolutionPlan(Kind kind, ResourceRead resourceRead, ResourceCopy resourceCopy,
+      ResourceColumn resourceColumn) {
+    this.kind = kind;
+    this.resourceRead = resourceRead;
+    this.resourceCopy = resourceCopy;
+    this.resourceColumn = resourceColumn;
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return The annotation given on the injection point or the one given on the method
+   * as fallback. {@code null} if there is none.
+   */
+  ResourceRead getResourceRead() {
+    return resourceRead;
+  }
+
+  /**
+   * @return The annotation of a {@link Kind#RESOURCE_COPY_PATH} or {@link Kind#RESOURCE_COPY_FILE}
+   * otherwise {@code null}.
+   */
+  ResourceCopy getResourceCopy() {
+    return resourceCopy;
+  }
+
+  /**
+   * @return The {@link ResourceColumn} of the injection point, may be {@code null}.
+   */
+  ResourceColumn getResourceColumn() {
+    return resourceColumn;
+  }
+
+  /**
+   * @return The single resource name of the annotation.
+   * @throws IllegalArgumentException if not exactly one name is given.
+   */
+  static String resourceName(ResourceRead annotation) {
+    String[] names = annotation.value();
+    if (names.length != 1) {
+      throw new IllegalArgumentException(
+          String.format("Exactly one resource has to be given but was %s.", Arrays.toString(names)));
+    }
+    return names[0];
+  }
+
+  boolean isSupported() {
+    return kind != Kind.UNSUPPORTED;
+  }
+
+  /**
+   * @return {@code true} if the injected value is derived from the content held in the {@link ResourceCache}.
+   */
+  boolean isCacheable() {
+    switch (kind) {
+      case STRING:
+      case BYTES:
+      case LIST_OF_LINES:
+      case RESOURCE_CONTENT_STRING:
+      case RESOURCE_CONTENT_LINES:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return {@code true} if the injected value is immutable, so it can be shared by all instances
+   * of a test class.
+   */
+  boolean isShareable() {
+    switch (kind) {
+      case STRING:
+      case RESOURCE_CONTENT_STRING:
+      case RESOURCE_PATH:
+      case RESOURCE_FILE:
+      case RESOURCE_GOLDEN:
+      case RESOURCE_TABLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  static ResolutionPlan of(Field field) {
+    ResourceCopy resourceCopy = field.getAnnotation(ResourceCopy.class);
+    if (resourceCopy != null) {
+      return of(field.getType(), resourceCopy);
+    }
+    // There is no enclosing element which could define a fallback.
+    return of(field.getType(), field.getGenericType(), field.getAnnotation(ResourceRead.class), null,
+        field.getAnnotation(ResourceColumn.class));
+  }
+
+  static ResolutionPlan of(Parameter parameter) {
+    ResourceCopy resourceCopy = parameter.getAnnotation(ResourceCopy.class);
+    if (resourceCopy != null) {
+      return of(parameter.getType(), resourceCopy);
+    }
+    Executable executable = parameter.getDeclaringExecutable();
+    return of(parameter.getType(), parameter.getParameterizedType(), parameter.getAnnotation(ResourceRead.class),
+        executable.getAnnotation(ResourceRead.class), parameter.getAnnotation(ResourceColumn.class));
+  }
+
+  /**
+   * @param type The raw type of the injection point.
+   * @param genericType The generic type of the injection point.
+   * @param annotation The {@link ResourceRead} of the injection point, may be {@code null}.
+   * @param fallback The {@link ResourceRead} of the enclosing element, may be {@code null}.
+   * @param resourceColumn The {@link ResourceColumn} of the injection point, may be {@code null}.
+   */
+  static ResolutionPlan of(Class<?> type, Type genericType, ResourceRead annotation, ResourceRead fallback,
+      ResourceColumn resourceColumn) {
+    if (type.equals(ResourceTable.class)) {
+      return checked(new ResolutionPlan(Kind.RESOURCE_TABLE, annotation != null ? annotation : fallback, null,
+          resourceColumn));
+    }
+    if (resourceColumn == null) {
+      return of(type, genericType, annotation, fallback);
+    }
+    if (annotation == null) {
+      return UNSUPPORTED;
+    }
+    if (type.equals(int[].class)) {
+      return checked(new ResolutionPlan(Kind.INT_COLUMN, annotation, null, resourceColumn));
+    }
+    if (type.equals(long[].class)) {
+      return checked(new ResolutionPlan(Kind.LONG_COLUMN, annotation, null, resourceColumn));
+    }
+    if (type.equals(double[].class)) {
+      return checked(new ResolutionPlan(Kind.DOUBLE_COLUMN, annotation, null, resourceColumn));
+    }
+    return UNSUPPORTED;
+  }
+
+  /**
+   * @param type The raw type of the injection point.
+   * @param genericType The generic type of the injection point.
+   * @param annotation The {@link ResourceRead} of the injection point, may be {@code null}.
+   * @param fallback The {@link ResourceRead} of the enclosing element, may be {@code null}.
+   *                 This is only used for {@link ResourceContentString}, {@link ResourceContentLines},
+   *                 {@link ResourceLineIndex} and {@link ResourceTable}.
+   */
+  static ResolutionPlan of(Class<?> type, Type genericType, ResourceRead annotation, ResourceRead fallback) {
+    if (type.equals(ResourcePath.class)) {
+      return new ResolutionPlan(Kind.RESOURCE_PATH, null);
+    }
+    if (type.equals(ResourceFile.class)) {
+      return new ResolutionPlan(Kind.RESOURCE_FILE, null);
+    }
+    if (type.equals(ResourceGolden.class)) {
+      return new ResolutionPlan(Kind.RESOURCE_GOLDEN, null);
+    }
+    // @ResourceRead must be present either on the method or on the parameter, otherwise
+    // resolving will fail.
+    if (type.equals(ResourceContentString.class)) {
+      return checked(new ResolutionPlan(Kind.RESOURCE_CONTENT_STRING, annotation != null ? annotation : fallback));
+    }
+    if (type.equals(ResourceContentLines.class)) {
+      return checked(new ResolutionPlan(Kind.RESOURCE_CONTENT_LINES, annotation != null ? annotation : fallback));
+    }
+    if (type.equals(ResourceLineIndex.class)) {
+      return checked(new ResolutionPlan(Kind.RESOURCE_LINE_INDEX, annotation != null ? annotation : fallback));
+    }
+
+    if (annotation == null) {
+      return UNSUPPORTED;
+    }
+
+    Kind kind = kindOf(type, genericType);
+    return kind == Kind.UNSUPPORTED ? UNSUPPORTED : checked(new ResolutionPlan(kind, annotation));
+  }
+
+  /**
+   * Only the maps are able to hold several resources, all other kinds need exactly one name.
+   *
+   * @return The given plan or {@link #UNSUPPORTED} if the number of names does not fit its kind.
+   */
+  private static ResolutionPlan checked(ResolutionPlan plan) {
+    if (plan.resourceRead == null) {
+      return plan;
+    }
+    switch (plan.kind) {
+      case MAP_OF_BYTES:
+      case MAP_OF_STRINGS:
+      case MAP_OF_PATHS:
+        return plan;
+      default:
+        return plan.resourceRead.value().length == 1 ? plan : UNSUPPORTED;
+    }
+  }
+
+  /**
+   * @param type The raw type of the injection point.
+   * @param resourceCopy The {@link ResourceCopy} of the injection point.
+   */
+  static ResolutionPlan of(Class<?> type, ResourceCopy resourceCopy) {
+    if (type.equals(Path.class)) {
+      return new ResolutionPlan(Kind.RESOURCE_COPY_PATH, null, resourceCopy, null);
+    }
+    if (type.equals(File.class)) {
+      return new ResolutionPlan(Kind.RESOURCE_COPY_FILE, null, resourceCopy, null);
+    }
+    return UNSUPPORTED;
+  }
+
+  private static Kind kindOf(Class<?> type, Type genericType) {
+    if (type.equals(String.class)) {
+      return Kind.STRING;
+    }
+    if (type.equals(byte[].class)) {
+      return Kind.BYTES;
+    }
+    if (type.equals(ByteBuffer.class)) {
+      return Kind.BYTE_BUFFER;
+    }
+    if (type.equals(MappedByteBuffer.class)) {
+      return Kind.MAPPED_BYTE_BUFFER;
+    }
+    if (type.equals(InputStream.class)) {
+      return Kind.INPUT_STREAM;
+    }
+    if (type.equals(Reader.class) || type.equals(BufferedReader.class)) {
+      return Kind.READER;
+    }
+    if (type.equals(ReadableByteChannel.class)) {
+      return Kind.CHANNEL;
+    }
+    Kind binary = binaryKindOf(type);
+    if (binary != Kind.UNSUPPORTED) {
+      return binary;
+    }
+    //Something like @ResourceRead("sub/anton.txt") Type<A,B> resource) will not work!
+    if (typeArgument(genericType, String.class)) {
+      if (type.equals(List.class)) {
+        return Kind.LIST_OF_LINES;
+      }
+      if (type.equals(Stream.class)) {
+        return Kind.STREAM_OF_LINES;
+      }
+    }
+    if (typeArgument(genericType, Path.class) && type.equals(List.class)) {
+      return Kind.LIST_OF_PATHS;
+    }
+    if (type.equals(Map.class)) {
+      return mapKindOf(genericType);
+    }
+    if (typeArgument(genericType, ByteBuffer.class)) {
+      if (type.equals(Stream.class)) {
+        return Kind.STREAM_OF_CHUNKS;
+      }
+      if (type.equals(Iterable.class)) {
+        return Kind.ITERABLE_OF_CHUNKS;
+      }
+    }
+    return Kind.UNSUPPORTED;
+  }
+
+  private static Kind mapKindOf(Type genericType) {
+    if (!(genericType instanceof ParameterizedType)) {
+      return Kind.UNSUPPORTED;
+    }
+    Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+    if (!arguments[0].equals(String.class)) {
+      return Kind.UNSUPPORTED;
+    }
+    if (arguments[1].equals(byte[].class)) {
+      return Kind.MAP_OF_BYTES;
+    }
+    if (arguments[1].equals(String.class)) {
+      return Kind.MAP_OF_STRINGS;
+    }
+    if (arguments[1].equals(Path.class)) {
+      return Kind.MAP_OF_PATHS;
+    }
+    return Kind.UNSUPPORTED;
+  }
+
+  /**
+   * Primitive arrays without {@link ResourceColumn} and the corresponding buffers are binary content.
+   */
+  private static Kind binaryKindOf(Class<?> type) {
+    if (type.equals(int[].class)) {
+      return Kind.INT_ARRAY;
+    }
+    if (type.equals(long[].class)) {
+      return Kind.LONG_ARRAY;
+    }
+    if (type.equals(float[].class)) {
+      return Kind.FLOAT_ARRAY;
+    }
+    if (type.equals(double[].class)) {
+      return Kind.DOUBLE_ARRAY;
+    }
+    if (type.equals(IntBuffer.class)) {
+      return Kind.INT_BUFFER;
+    }
+    if (type.equals(LongBuffer.class)) {
+      return Kind.LONG_BUFFER;
+    }
+    if (type.equals(FloatBuffer.class)) {
+      return Kind.FLOAT_BUFFER;
+    }
+    if (type.equals(DoubleBuffer.class)) {
+      return Kind.DOUBLE_BUFFER;
+    }
+    return Kind.UNSUPPORTED;
+  }
+
+  private static boolean typeArgument(Type genericType, Type expected) {
+    if (!(genericType instanceof ParameterizedType)) {
+      return false;
+    }
+    Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+    return arguments.length == 1 && arguments[0].equals(expected);
+  }
+}
@@ -0,0 +1,56 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.nio.ByteOrder;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The byte order of binary resources which are injected as primitive arrays
+ * ({@code int[]}, {@code long[]}, {@code float[]}, {@code double[]}) or as the corresponding
+ * buffers ({@link java.nio.IntBuffer}, ...). See {@link ResourceRead#byteOrder()}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public enum ResourceByteOrder {
+
+  BIG_ENDIAN(ByteOrder.BIG_ENDIAN),
+
+  LITTLE_ENDIAN(ByteOrder.LITTLE_ENDIAN),
+
+  /**
+   * The byte order of the platform the tests are running on.
+   */
+  NATIVE(ByteOrder.nativeOrder());
+
+  private final ByteOrder byteOrder;
+
+  ResourceByteOrder(ByteOrder byteOrder) {
+    this.byteOrder = byteOrder;
+  }
+
+  public ByteOrder toByteOrder() {
+    return byteOrder;
+  }
+}
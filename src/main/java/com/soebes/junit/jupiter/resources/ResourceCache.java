@@ -0,0 +1,219 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A bounded cache of {@link CachedResource}s which is shared by all tests of a run.
+ * Entries are evicted in least recently used order as soon as the total size of
+ * all entries exceeds the configured budget. The size of an entry includes its decoded
+ * forms (see {@link CachedResource#size()}), so the budget is checked again whenever one
+ * is memoized. Resources which are larger than the whole budget are read but never cached.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourceCache {
+
+  /**
+   * The name of the configuration parameter to define the budget of the cache in bytes.
+   */
+  static final String MAX_BYTES_PROPERTY = "resources-extension.cache.max-bytes";
+
+  static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+  private final long maxBytes;
+
+  private final ReadConfiguration configuration;
+
+  private final LinkedHashMap<Key, CachedResource> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The resources which are currently read, so concurrent misses wait for the same read.
+   */
+  private final Map<Key, CompletableFuture<CachedResource>> loading = new HashMap<>();
+
+  /**
+   * The bytes which have been added to {@link #currentBytes} for every entry. They are subtracted
+   * on eviction instead of the current size of the entry, which may already contain a decoded form
+   * that has not been accounted for yet.
+   */
+  private final Map<Key, Charge> charges = new HashMap<>();
+
+  private long currentBytes;
+
+  ResourceCache(long maxBytes) {
+    this(maxBytes, ReadConfiguration.DEFAULT);
+  }
+
+  /**
+   * @param configuration Selects how resources which are not cached yet are read.
+   */
+  ResourceCache(long maxBytes, ReadConfiguration configuration) {
+    this.maxBytes = maxBytes;
+    this.configuration = configuration;
+  }
+
+  CachedResource get(ClassLoader classLoader, String resourceName, String encoding) {
+    return get(classLoader, resourceName, encoding, true);
+  }
+
+  /**
+   * @param decompress {@code false} to cache compressed resources as they are stored.
+   */
+  CachedResource get(ClassLoader classLoader, String resourceName, String encoding, boolean decompress) {
+    Key key = new Key(classLoader, resourceName, Charset.forName(encoding), decompress);
+    CompletableFuture<CachedResource> pending;
+    boolean reader = false;
+    synchronized (this) {
+      CachedResource cached = entries.get(key);
+      if (cached != null) {
+        IoProbe.mode(ResourceResolution.Mode.CACHE_HIT);
+        return cached;
+      }
+      pending = loading.get(key);
+      if (pending == null) {
+        pending = new CompletableFuture<>();
+        loading.put(key, pending);
+        reader = true;
+      }
+    }
+    if (!reader) {
+      // Another thread is reading the same resource already, so it is read only once.
+      IoProbe.mode(ResourceResolution.Mode.CACHE_HIT);
+      return ResourceExecutor.join(pending);
+    }
+    IoProbe.mode(ResourceResolution.Mode.CACHE_MISS);
+
+    // Reading is done outside of the lock so tests which need other resources are not blocked.
+    CachedResource loaded;
+    try {
+      byte[] content = new ResourceLoader(classLoader, resourceName, encoding, configuration, decompress).asBytes();
+      AtomicReference<CachedResource> self = new AtomicReference<>();
+      loaded = new CachedResource(content, key.encoding, added -> grown(key, self.get(), added));
+      self.set(loaded);
+      put(key, loaded);
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        loading.remove(key);
+      }
+      pending.completeExceptionally(e);
+      throw e;
+    }
+    pending.complete(loaded);
+    return loaded;
+  }
+
+  /**
+   * Accounts for a decoded form which has been memoized by an entry after it has been added.
+   */
+  private synchronized void grown(Key key, CachedResource resource, long added) {
+    // Looked up in the charges, so the entry does not become the most recently used one.
+    Charge charge = charges.get(key);
+    if (charge == null || charge.resource != resource) {
+      // Not cached (anymore), so it is not part of the budget.
+      return;
+    }
+    charge.bytes += added;
+    currentBytes += added;
+    evict();
+  }
+
+  private synchronized void put(Key key, CachedResource loaded) {
+    loading.remove(key);
+    long size = loaded.size();
+    if (size > maxBytes) {
+      return;
+    }
+    entries.put(key, loaded);
+    charges.put(key, new Charge(loaded, size));
+    currentBytes += size;
+    evict();
+  }
+
+  private void evict() {
+    Iterator<Key> iterator = entries.keySet().iterator();
+    while (currentBytes > maxBytes && iterator.hasNext()) {
+      currentBytes -= charges.remove(iterator.next()).bytes;
+      iterator.remove();
+    }
+  }
+
+  synchronized long currentBytes() {
+    return currentBytes;
+  }
+
+  synchronized int entries() {
+    return entries.size();
+  }
+
+  private static final class Charge {
+
+    private final CachedResource resource;
+    private long bytes;
+
+    Charge(CachedResource resource, long bytes) {
+      this.resource = resource;
+      this.bytes = bytes;
+    }
+  }
+
+  private static final class Key {
+
+    private final ClassLoader classLoader;
+    private final String resourceName;
+    private final Charset encoding;
+    private final boolean decompress;
+
+    Key(ClassLoader classLoader, String resourceName, Charset encoding, boolean decompress) {
+      this.classLoader = classLoader;
+      this.resourceName = resourceName;
+      this.encoding = encoding;
+      this.decompress = decompress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return classLoader == key.classLoader
+          && resourceName.equals(key.resourceName)
+          && encoding.equals(key.encoding)
+          && decompress == key.decompress;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(classLoader), resourceName, encoding, decompress);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The content of a resource as a sequence of chunks of a fixed size (only the last chunk may be
+ * smaller). All chunks of an iteration are read into the same direct buffer, so the memory footprint
+ * does not depend on the size of the resource. A chunk is only valid until the next one is requested.
+ * <p>
+ * Every iteration opens its own channel and allocates its own buffer, so iterations may run
+ * concurrently. The channel is closed at the end of the iteration or at the latest by {@link #close()}.
+ * The buffers are never released explicitly but left to the garbage collector, because the caller
+ * may still hold the last chunk.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceChunks implements Iterable<ByteBuffer>, AutoCloseable {
+
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final Supplier<ReadableByteChannel> channels;
+
+  private final int chunkSize;
+
+  private final List<Chunks> unfinished = new ArrayList<>();
+
+  ResourceChunks(Supplier<ReadableByteChannel> channels, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException(String.format("The chunk size must be positive but was %d.", chunkSize));
+    }
+    this.channels = channels;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public Iterator<ByteBuffer> iterator() {
+    return open();
+  }
+
+  Stream<ByteBuffer> stream() {
+    Chunks chunks = open();
+    Spliterator<ByteBuffer> spliterator = Spliterators.spliteratorUnknownSize(chunks,
+        Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(chunks::finish);
+  }
+
+  @Override
+  public synchronized void close() {
+    for (Chunks chunks : unfinished) {
+      close(chunks.channel);
+    }
+    unfinished.clear();
+  }
+
+  /**
+   * @return The number of iterations which have neither reached the end of the content nor been closed.
+   */
+  synchronized int unfinished() {
+    return unfinished.size();
+  }
+
+  private synchronized Chunks open() {
+    Chunks chunks = new Chunks(channels.get(), ByteBuffer.allocateDirect(chunkSize));
+    unfinished.add(chunks);
+    return chunks;
+  }
+
+  private static void close(ReadableByteChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private final class Chunks implements Iterator<ByteBuffer> {
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private boolean filled;
+
+    private boolean endOfInput;
+
+    Chunks(ReadableByteChannel channel, ByteBuffer buffer) {
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!filled && !endOfInput) {
+        fill();
+      }
+      return filled;
+    }
+
+    @Override
+    public ByteBuffer next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      filled = false;
+      return buffer;
+    }
+
+    void finish() {
+      synchronized (ResourceChunks.this) {
+        if (!unfinished.remove(this)) {
+          return;
+        }
+      }
+      close(channel);
+    }
+
+    private void fill() {
+      // Buffer as type for compatibility with JDK 8 where these methods are only declared by Buffer.
+      Buffer chunk = buffer;
+      chunk.clear();
+      try {
+        int read = 0;
+        while (buffer.hasRemaining() && (read = channel.read(buffer)) >= 0) {
+          // continue until the chunk is full or the end of the content is reached.
+        }
+        endOfInput = read < 0;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      chunk.flip();
+      filled = buffer.hasRemaining();
+      if (endOfInput) {
+        finish();
+      }
+    }
+  }
+}
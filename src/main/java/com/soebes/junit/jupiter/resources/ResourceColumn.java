@@ -0,0 +1,75 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Injects a single column of a delimited text resource (CSV, TSV, ...) as {@code int[]},
+ * {@code long[]} or {@code double[]}. The numbers are parsed directly from the bytes of the
+ * resource without creating a {@link String} per value and without holding the whole resource
+ * in memory. The resource itself is given by {@link ResourceRead}.
+ *
+ * <pre>
+ * &#64;Test
+ * void prices(&#64;ResourceRead("prices.csv") &#64;ResourceColumn("price") double[] prices) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * On a {@link ResourceTable} parameter only {@link #delimiter()} and {@link #header()} are used.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public @interface ResourceColumn {
+
+  /**
+   * @return The name of the column in the header. If not given {@link #index()} is used.
+   */
+  String value() default "";
+
+  /**
+   * @return The index of the column starting with {@code 0}. Only used if no name is given.
+   */
+  int index() default -1;
+
+  /**
+   * @return The delimiter of the fields. By default a tab is used for resources ending with
+   * {@code .tsv} or {@code .tab}, a comma otherwise.
+   */
+  char delimiter() default '\0';
+
+  /**
+   * @return {@code false} if the first record does not contain the names of the columns.
+   */
+  boolean header() default true;
+}
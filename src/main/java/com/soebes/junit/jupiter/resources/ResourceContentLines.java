@@ -22,6 +22,7 @@ package com.soebes.junit.jupiter.resources;
 import org.apiguardian.api.API;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
@@ -31,13 +32,39 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public class ResourceContentLines {
 
-  private List<String> content;
+  private volatile List<String> content;
+
+  private Supplier<List<String>> supplier;
 
   ResourceContentLines(List<String> content) {
     this.content = content;
   }
 
+  /**
+   * @param supplier Reads the lines on the first call of {@link #getContent()}.
+   */
+  ResourceContentLines(Supplier<List<String>> supplier) {
+    this.supplier = supplier;
+  }
+
+  /**
+   * @return The lines of the resource as a modifiable list which is owned by this instance. If the instance
+   * has been injected, the resource is read on the first call. Later calls (also from other threads) return
+   * the same list.
+   */
   public List<String> getContent() {
-    return content;
+    List<String> result = content;
+    if (result == null) {
+      synchronized (this) {
+        result = content;
+        if (result == null) {
+          result = supplier.get();
+          content = result;
+          // Not needed anymore and it should not keep the resource alive.
+          supplier = null;
+        }
+      }
+    }
+    return result;
   }
 }
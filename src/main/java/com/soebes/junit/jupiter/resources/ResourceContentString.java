@@ -21,6 +21,8 @@ package com.soebes.junit.jupiter.resources;
 
 import org.apiguardian.api.API;
 
+import java.util.function.Supplier;
+
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 /**
@@ -29,13 +31,38 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public class ResourceContentString {
 
-  private String content;
+  private volatile String content;
+
+  private Supplier<String> supplier;
 
   ResourceContentString(String content) {
     this.content = content;
   }
 
+  /**
+   * @param supplier Reads the content on the first call of {@link #getContent()}.
+   */
+  ResourceContentString(Supplier<String> supplier) {
+    this.supplier = supplier;
+  }
+
+  /**
+   * @return The content of the resource. If the instance has been injected, the resource is read on
+   * the first call. Later calls (also from other threads) return the same instance.
+   */
   public String getContent() {
-    return content;
+    String result = content;
+    if (result == null) {
+      synchronized (this) {
+        result = content;
+        if (result == null) {
+          result = supplier.get();
+          content = result;
+          // Not needed anymore and it should not keep the resource alive.
+          supplier = null;
+        }
+      }
+    }
+    return result;
   }
 }
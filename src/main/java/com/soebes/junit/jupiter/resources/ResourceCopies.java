@@ -0,0 +1,199 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The copies of resources made for a single test. They are located in temporary directories
+ * which are deleted as soon as the owning {@link ExtensionContext} is closed.
+ * <p>
+ * Copies of files on the file system are placed next to the classpath root the resource
+ * belongs to, e.g. in {@code target/} for {@code target/test-classes/}. This keeps them on the
+ * same file store as their source, which is required to link them instead of copying them.
+ * The system temporary directory is often a different file store (e.g. {@code tmpfs}).
+ * <p>
+ * Files on the file system are copied via {@link FileChannel#transferTo} which lets the operating
+ * system copy the content without passing it through the JVM. Files inside of archives are streamed.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourceCopies implements ExtensionContext.Store.CloseableResource {
+
+  private final Map<Path, Path> directories = new LinkedHashMap<>();
+
+  /**
+   * @param source The file or directory to copy.
+   * @param writable {@code false} to create hard links instead of copies if possible.
+   * @return The copy which has the same file name as the source. It is located in the
+   *   system temporary directory.
+   */
+  Path copy(Path source, boolean writable) throws IOException {
+    return copy(source, null, writable);
+  }
+
+  /**
+   * @param source The file or directory to copy.
+   * @param location The directory to create the copy in or {@code null} for the system
+   *   temporary directory.
+   * @param writable {@code false} to create hard links instead of copies if possible.
+   * @return The copy which has the same file name as the source.
+   */
+  synchronized Path copy(Path source, Path location, boolean writable) throws IOException {
+    Path directory = directory(location);
+    String name = source.getFileName() != null ? source.getFileName().toString() : "root";
+    Path target = directory.resolve(name);
+    if (Files.exists(target)) {
+      // The same name has already been copied for another parameter.
+      target = Files.createTempDirectory(directory, "copy").resolve(name);
+    }
+    boolean link = !writable && source.getFileSystem() == FileSystems.getDefault()
+        && target.getFileSystem() == FileSystems.getDefault();
+
+    Path root = target;
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(resolve(root, source, dir));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        copyFile(file, resolve(root, source, file), link);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return target;
+  }
+
+  /**
+   * @param source The resource located via the class path.
+   * @param name The name of the resource.
+   * @return The directory which contains the classpath root of the resource or {@code null}
+   *   if the resource is not located on the default file system.
+   */
+  static Path location(Path source, String name) {
+    if (source.getFileSystem() != FileSystems.getDefault()) {
+      return null;
+    }
+    Path root = source.toAbsolutePath();
+    for (int i = 0; i < Paths.get(name).getNameCount() && root != null; i++) {
+      root = root.getParent();
+    }
+    return root != null ? root.getParent() : null;
+  }
+
+  private Path directory(Path location) throws IOException {
+    Path directory = directories.get(location);
+    if (directory == null) {
+      directory = location != null && Files.isWritable(location)
+          ? Files.createTempDirectory(location, "resources-extension")
+          : Files.createTempDirectory("resources-extension");
+      directories.put(location, directory);
+    }
+    return directory;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (Path directory : directories.values()) {
+      delete(directory);
+    }
+    directories.clear();
+  }
+
+  private static void delete(Path directory) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+        if (exc != null) {
+          throw exc;
+        }
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * Resolves the path of {@code current} relative to {@code source} against {@code target}.
+   * The names are resolved one by one, because {@code source} may belong to a different file system.
+   */
+  private static Path resolve(Path target, Path source, Path current) {
+    Path result = target;
+    for (Path name : source.relativize(current)) {
+      if (!name.toString().isEmpty()) {
+        result = result.resolve(name.toString());
+      }
+    }
+    return result;
+  }
+
+  private static void copyFile(Path source, Path target, boolean link) throws IOException {
+    if (link) {
+      try {
+        Files.createLink(target, source);
+        return;
+      } catch (IOException | UnsupportedOperationException e) {
+        // Different file stores or no support of hard links, copy the file instead.
+      }
+    }
+    if (source.getFileSystem() != FileSystems.getDefault()) {
+      try (InputStream in = Files.newInputStream(source)) {
+        Files.copy(in, target);
+      }
+      return;
+    }
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+         FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      long size = in.size();
+      long position = 0;
+      while (position < size) {
+        long transferred = in.transferTo(position, size - position, out);
+        if (transferred <= 0) {
+          // The file has been truncated in the meantime.
+          break;
+        }
+        position += transferred;
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Injects a copy of a resource (a single file or a whole directory) which is located in a
+ * temporary directory of the test. The test can modify the copy without changing the original
+ * resource in {@code target/test-classes}. The temporary directory is deleted after the test.
+ * The parameter has to be of type {@link java.nio.file.Path} or {@link java.io.File}.
+ *
+ * <pre>
+ * &#64;Test
+ * void modify_fixture(&#64;ResourceCopy("project") Path project) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public @interface ResourceCopy {
+
+  /**
+   * @return The name of the resource which can be a file or a directory.
+   */
+  String value();
+
+  /**
+   * @return {@code false} if the test does not modify the content of the files in place. Then the files
+   * are hard linked instead of being copied which takes no time independent of their size. Files can
+   * still be deleted, renamed or replaced without affecting the original. If hard links are not
+   * possible (for example on a different file store) the files are copied.
+   */
+  boolean writable() default true;
+}
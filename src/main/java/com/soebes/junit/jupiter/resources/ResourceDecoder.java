@@ -0,0 +1,287 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The single decoding engine behind all textual representations of a resource.
+ * <p>
+ * Content smaller than {@link #REUSED_BUFFER_LIMIT} is read into a single buffer and decoded from there.
+ * Buffers up to {@link #RETAINED_BUFFER_LIMIT} are reused per thread, so for most resources the
+ * resulting {@link String} is the only allocation. Pure ASCII content
+ * in an ASCII compatible charset and ISO-8859-1 content are copied without running a decoder at all.
+ * Larger content is decoded in chunks into a pre-sized builder without holding all bytes at once.
+ * The size of the chunks can be chosen by the caller (see {@link ReadConfiguration#getBufferSize()}).
+ * Malformed input is replaced like {@link String#String(byte[], Charset)} does.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceDecoder {
+
+  /**
+   * Content smaller than this is read at once instead of being decoded in chunks.
+   */
+  static final int REUSED_BUFFER_LIMIT = 8 * 1024 * 1024;
+
+  /**
+   * The maximum size of the buffer which is kept per thread. Larger buffers are only used
+   * for a single decode, so threads of a pool do not keep megabytes each after reading a
+   * large resource once.
+   */
+  static final int RETAINED_BUFFER_LIMIT = 256 * 1024;
+
+  static final int CHUNK_SIZE = 64 * 1024;
+
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+  private ResourceDecoder() {
+    // intentionally empty.
+  }
+
+  /**
+   * @param channel The channel to read from. It is not closed.
+   * @param sizeHint The expected number of bytes or {@code -1} if unknown.
+   * @param charset The charset of the content.
+   */
+  static String decode(ReadableByteChannel channel, long sizeHint, Charset charset) throws IOException {
+    return decode(channel, sizeHint, charset, CHUNK_SIZE);
+  }
+
+  /**
+   * @param channel The channel to read from. It is not closed.
+   * @param sizeHint The expected number of bytes or {@code -1} if unknown.
+   * @param charset The charset of the content.
+   * @param chunkSize The number of bytes and characters handled at once if the content is decoded in chunks.
+   */
+  static String decode(ReadableByteChannel channel, long sizeHint, Charset charset, int chunkSize)
+      throws IOException {
+    if (sizeHint >= 0 && sizeHint < REUSED_BUFFER_LIMIT) {
+      // One additional byte to detect a wrong hint without another read.
+      int capacity = (int) sizeHint + 1;
+      byte[] buffer = reusedBuffer(capacity);
+      int length = readFully(channel, buffer, 0, capacity);
+      if (length < capacity) {
+        return decode(buffer, 0, length, charset);
+      }
+      // The hint was wrong (for example a gzip file larger than 4 GiB), continue decoding in chunks.
+      return decodeChunked(channel, buffer, length, sizeHint, charset, chunkSize);
+    }
+    return decodeChunked(channel, reusedBuffer(chunkSize), 0, sizeHint, charset, chunkSize);
+  }
+
+  /**
+   * Decodes the remaining content of the buffer, for example a mapping of a file, without copying
+   * it into a byte array first.
+   *
+   * @param content The content to decode. Its position is moved to its limit.
+   * @param charset The charset of the content.
+   * @param chunkSize The number of characters decoded at once.
+   */
+  static String decode(ByteBuffer content, Charset charset, int chunkSize) {
+    CharsetDecoder decoder = decoder(charset);
+    StringBuilder result = new StringBuilder(capacity(content.remaining(), decoder, chunkSize));
+    CharBuffer out = CharBuffer.allocate(chunkSize);
+    boolean probed = IoProbe.isActive();
+    long start = probed ? System.nanoTime() : 0L;
+    while (decoder.decode(content, out, true).isOverflow()) {
+      drain(out, result);
+    }
+    while (decoder.flush(out).isOverflow()) {
+      drain(out, result);
+    }
+    drain(out, result);
+    if (probed) {
+      IoProbe.decoded(System.nanoTime() - start);
+    }
+    return result.toString();
+  }
+
+  static String decode(byte[] bytes, int offset, int length, Charset charset) {
+    boolean probed = IoProbe.isActive();
+    long start = probed ? System.nanoTime() : 0L;
+    String result;
+    if (charset.equals(StandardCharsets.ISO_8859_1)
+        || (isAsciiCompatible(charset) && isAscii(bytes, offset, length))) {
+      result = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    } else {
+      result = new String(bytes, offset, length, charset);
+    }
+    if (probed) {
+      IoProbe.decoded(System.nanoTime() - start);
+    }
+    return result;
+  }
+
+  /**
+   * @param channel The channel to read from. It is not closed.
+   * @param sizeHint The expected number of bytes or {@code -1} if unknown.
+   * @return All bytes of the channel. If the hint is correct, the array is the only allocation.
+   */
+  static byte[] readAllBytes(ReadableByteChannel channel, long sizeHint) throws IOException {
+    return readAllBytes(channel, sizeHint, CHUNK_SIZE);
+  }
+
+  /**
+   * @param channel The channel to read from. It is not closed.
+   * @param sizeHint The expected number of bytes or {@code -1} if unknown.
+   * @param chunkSize The initial size of the array if the size is unknown and the minimum growth otherwise.
+   * @return All bytes of the channel. If the hint is correct, the array is the only allocation.
+   */
+  static byte[] readAllBytes(ReadableByteChannel channel, long sizeHint, int chunkSize) throws IOException {
+    if (sizeHint > MAX_ARRAY_SIZE) {
+      throw new IOException("The content is too large to be read into a byte array.");
+    }
+    byte[] result = new byte[sizeHint >= 0 ? (int) sizeHint : chunkSize];
+    int length = readFully(channel, result, 0, result.length);
+    ByteBuffer probe = ByteBuffer.allocate(1);
+    while (length == result.length && read(channel, probe) > 0) {
+      if (result.length == MAX_ARRAY_SIZE) {
+        throw new IOException("The content is too large to be read into a byte array.");
+      }
+      result = Arrays.copyOf(result, (int) Math.min(MAX_ARRAY_SIZE, Math.max(chunkSize, result.length * 2L)));
+      result[length++] = probe.get(0);
+      clear(probe);
+      length += readFully(channel, result, length, result.length - length);
+    }
+    return length == result.length ? result : Arrays.copyOf(result, length);
+  }
+
+  private static String decodeChunked(ReadableByteChannel channel, byte[] buffer, int buffered, long sizeHint,
+      Charset charset, int chunkSize) throws IOException {
+    CharsetDecoder decoder = decoder(charset);
+    StringBuilder result = new StringBuilder(capacity(sizeHint, decoder, chunkSize));
+
+    ByteBuffer in = ByteBuffer.wrap(buffer);
+    CharBuffer out = CharBuffer.allocate(chunkSize);
+    position(in, buffered);
+    boolean probed = IoProbe.isActive();
+    long decodeNanos = 0;
+    boolean endOfInput = false;
+    while (!endOfInput) {
+      int read = channel.read(in);
+      endOfInput = read < 0;
+      IoProbe.bytesRead(read);
+      long start = probed ? System.nanoTime() : 0L;
+      flip(in);
+      while (decoder.decode(in, out, endOfInput).isOverflow()) {
+        drain(out, result);
+      }
+      in.compact();
+      decodeNanos += probed ? System.nanoTime() - start : 0L;
+    }
+    while (decoder.flush(out).isOverflow()) {
+      drain(out, result);
+    }
+    drain(out, result);
+    IoProbe.decoded(decodeNanos);
+    return result.toString();
+  }
+
+  private static CharsetDecoder decoder(Charset charset) {
+    return charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  private static int capacity(long sizeHint, CharsetDecoder decoder, int chunkSize) {
+    double expectedChars = sizeHint > 0 ? sizeHint * (double) decoder.averageCharsPerByte() : chunkSize;
+    return (int) Math.min(MAX_ARRAY_SIZE, expectedChars);
+  }
+
+  private static void drain(CharBuffer out, StringBuilder result) {
+    flip(out);
+    result.append(out);
+    clear(out);
+  }
+
+  private static byte[] reusedBuffer(int size) {
+    byte[] buffer = BUFFER.get();
+    if (buffer.length < size) {
+      buffer = new byte[size];
+      if (size <= RETAINED_BUFFER_LIMIT) {
+        BUFFER.set(buffer);
+      }
+    }
+    return buffer;
+  }
+
+  /**
+   * @return The size of the buffer which is kept by the current thread.
+   */
+  static int retainedBufferSize() {
+    return BUFFER.get().length;
+  }
+
+  private static int readFully(ReadableByteChannel channel, byte[] buffer, int offset, int length) throws IOException {
+    ByteBuffer target = ByteBuffer.wrap(buffer, offset, length);
+    while (target.hasRemaining() && channel.read(target) >= 0) {
+      // continue until the buffer is full or the end of the stream is reached.
+    }
+    IoProbe.bytesRead(target.position() - offset);
+    return target.position() - offset;
+  }
+
+  private static int read(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+    int read;
+    do {
+      read = channel.read(buffer);
+    } while (read == 0);
+    IoProbe.bytesRead(read);
+    return read;
+  }
+
+  private static boolean isAsciiCompatible(Charset charset) {
+    return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII);
+  }
+
+  private static boolean isAscii(byte[] bytes, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      if (bytes[i] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Buffer as parameter type for compatibility with JDK 8 where these methods are only declared by Buffer.
+  private static void flip(Buffer buffer) {
+    buffer.flip();
+  }
+
+  private static void clear(Buffer buffer) {
+    buffer.clear();
+  }
+
+  private static void position(Buffer buffer, int position) {
+    buffer.position(position);
+  }
+}
@@ -0,0 +1,160 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps artefacts which are expensive to create (decompressed content, line offsets) as files, so they
+ * are created only once for all forks of a test run and for later runs. The files are read via the
+ * page cache of the operating system afterwards, usually by a memory mapping.
+ * <p>
+ * An entry is identified by the location, the modification time and the size of its source, the charset
+ * (if the artefact depends on it) and the kind of the artefact. A changed source therefore results in a
+ * new entry, outdated entries are removed together with the directory (for example by {@code mvn clean}).
+ * <p>
+ * Entries are written to a temporary file and moved into place atomically while holding a file lock,
+ * so concurrent forks neither see partial entries nor create the same entry twice.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceDiskCache {
+
+  /**
+   * The name of the configuration parameter to enable the cache.
+   */
+  static final String ENABLED_PROPERTY = "resources-extension.disk-cache.enabled";
+
+  /**
+   * The name of the configuration parameter to define the directory of the cache.
+   */
+  static final String DIRECTORY_PROPERTY = "resources-extension.disk-cache.directory";
+
+  static final String DEFAULT_DIRECTORY = "target/resources-extension-cache";
+
+  /**
+   * Part of every key, so entries written in an older format are never read.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * A {@link FileLock} is held by the whole JVM, so threads of the same JVM have to be serialized separately.
+   */
+  private static final ConcurrentHashMap<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+  private final Path directory;
+
+  ResourceDiskCache(Path directory) {
+    this.directory = directory.toAbsolutePath().normalize();
+  }
+
+  Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * @return {@code true} if the given file is an entry of this cache.
+   */
+  boolean isEntry(Path path) {
+    Path parent = path.toAbsolutePath().normalize().getParent();
+    return directory.equals(parent);
+  }
+
+  /**
+   * @param source The file the artefact is derived from.
+   * @param charset The charset the artefact depends on or {@code null} if it depends only on the bytes.
+   * @param kind The kind of the artefact which is used as extension of the entry.
+   * @param writer Writes the artefact if the entry does not exist yet.
+   * @return The entry which contains the artefact.
+   */
+  Path get(Path source, Charset charset, String kind, Writer writer) throws IOException {
+    Path entry = directory.resolve(key(source, charset, kind) + "." + kind);
+    if (Files.isRegularFile(entry)) {
+      return entry;
+    }
+    Files.createDirectories(directory);
+    synchronized (MONITORS.computeIfAbsent(entry, key -> new Object())) {
+      Path lockFile = directory.resolve(entry.getFileName() + ".lock");
+      try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+           FileLock ignored = channel.lock()) {
+        // Another fork may have written the entry while waiting for the lock.
+        if (!Files.isRegularFile(entry)) {
+          write(entry, writer);
+        }
+      }
+    }
+    return entry;
+  }
+
+  private void write(Path entry, Writer writer) throws IOException {
+    Path temporary = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+    try {
+      writer.write(temporary);
+      try {
+        Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, entry);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private static String key(Path source, Charset charset, String kind) throws IOException {
+    String identity = source.toUri() + "\n"
+        + Files.getLastModifiedTime(source).toMillis() + "\n"
+        + Files.size(source) + "\n"
+        + (charset != null ? charset.name() : "") + "\n"
+        + kind + "\n"
+        + FORMAT_VERSION;
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+      StringBuilder result = new StringBuilder(digest.length * 2);
+      for (byte value : digest) {
+        result.append(Character.forDigit((value >> 4) & 0xf, 16)).append(Character.forDigit(value & 0xf, 16));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // Every JDK has to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @FunctionalInterface
+  interface Writer {
+    /**
+     * @param target The temporary file to write the artefact to. It exists already and is empty.
+     */
+    void write(Path target) throws IOException;
+  }
+}
@@ -22,7 +22,9 @@ package com.soebes.junit.jupiter.resources;
 import org.apiguardian.api.API;
 
 import java.io.File;
-import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Optional;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
@@ -45,14 +47,30 @@ public class ResourceFile {
   /**
    * @param name The name of the resource you would like to get.
    * @return The {@link File} of the requested resource.
-   * @throws ResourceNotFoundException in case of trying to access a resource which does not exist.
+   * @throws ResourceNotFoundException in case of trying to access a resource which does not exist
+   * or which is located inside of an archive, because such a resource can not being represented
+   * as a {@link File}. Use {@link ResourcePath} instead.
    */
   public File get(String name) {
-    URL resource = this.classLoader.getResource(name);
-    if (resource == null) {
-      throw new ResourceNotFoundException(String.format("The resource '%s' couldn't being found.", name));
+    Path path = ResourceLocator.findPath(this.classLoader, name).orElseThrow(() ->
+        new ResourceNotFoundException(String.format("The resource '%s' couldn't being found.", name)));
+    if (path.getFileSystem() != FileSystems.getDefault()) {
+      throw new ResourceNotFoundException(
+          String.format("The resource '%s' is located inside of an archive, use ResourcePath instead.", name));
     }
-    return new File(resource.getFile());
+    return path.toFile();
+  }
+
+  /**
+   * @param name The name of the resource you would like to get.
+   * @return The {@link File} of the requested resource or {@link Optional#empty()} if it does not
+   * exist or is located inside of an archive. No exception is created in either case.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  public Optional<File> find(String name) {
+    return ResourceLocator.findPath(this.classLoader, name)
+        .filter(path -> path.getFileSystem() == FileSystems.getDefault())
+        .map(Path::toFile);
   }
 
 }
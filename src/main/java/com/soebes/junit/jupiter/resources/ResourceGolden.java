@@ -0,0 +1,247 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Compares actual content with a golden file (the expected content) located on the classpath.
+ * Both contents are compared in chunks, so neither of them has to fit into memory. The comparison
+ * stops at the first difference which is reported with its byte offset, line and column together
+ * with a small context.
+ *
+ * <pre>
+ * &#64;Test
+ * void report(ResourceGolden golden) {
+ *   Path report = generateReport();
+ *   golden.assertMatches("golden/report.txt", report);
+ * }
+ * </pre>
+ *
+ * If the configuration parameter {@value #UPDATE_PROPERTY} is {@code true}, golden files which
+ * do not exist or differ are rewritten with the actual content instead of failing the test. They
+ * are written into the directory given by {@value #DIRECTORY_PROPERTY} (by default
+ * {@value #DEFAULT_DIRECTORY}) and into the output directory the resource has been found in.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public final class ResourceGolden {
+
+  static final String UPDATE_PROPERTY = "resources-extension.golden.update";
+
+  static final String DIRECTORY_PROPERTY = "resources-extension.golden.directory";
+
+  static final String DEFAULT_DIRECTORY = "src/test/resources";
+
+  private static final Logger LOGGER = Logger.getLogger(ResourceGolden.class.getName());
+
+  private final ResourcePath resourcePath;
+
+  private final boolean update;
+
+  private final Path directory;
+
+  ResourceGolden(ResourcePath resourcePath, boolean update, Path directory) {
+    this.resourcePath = resourcePath;
+    this.update = update;
+    this.directory = directory;
+  }
+
+  /**
+   * @return {@code true} if golden files are rewritten instead of failing the test.
+   */
+  public boolean isUpdating() {
+    return update;
+  }
+
+  /**
+   * @param name The name of the golden file on the classpath.
+   * @param actual The file which contains the actual content.
+   */
+  public void assertMatches(String name, Path actual) {
+    assertMatches(name, () -> Files.newByteChannel(actual));
+  }
+
+  public void assertMatches(String name, byte[] actual) {
+    assertMatches(name, () -> Channels.newChannel(new ByteArrayInputStream(actual)));
+  }
+
+  /**
+   * The actual content is compared in UTF-8.
+   */
+  public void assertMatches(String name, CharSequence actual) {
+    assertMatches(name, actual.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void assertMatches(String name, Content actual) {
+    Path resource = resourcePath.find(name).orElse(null);
+    if (resource == null) {
+      if (!update) {
+        throw new AssertionFailedError(String.format("The golden file '%s' does not exist. Set the configuration "
+            + "parameter '%s' to true to create it.", name, UPDATE_PROPERTY));
+      }
+      write(name, null, actual);
+      return;
+    }
+
+    GoldenComparison.Difference difference = compare(name, actual);
+    if (difference == null) {
+      return;
+    }
+    if (update) {
+      write(name, resource, actual);
+      return;
+    }
+    String before = printable(difference.getBefore());
+    String expected = before + printable(difference.getExpected());
+    String was = before + printable(difference.getActual());
+    throw new AssertionFailedError(String.format("The content differs from the golden file '%s' at offset %d "
+            + "(line %d, column %d).%n  expected: \"%s\"%s%n   but was: \"%s\"%s", name, difference.getOffset(),
+        difference.getLine(), difference.getColumn(), expected, end(difference.getExpected()), was,
+        end(difference.getActual())), expected, was);
+  }
+
+  private GoldenComparison.Difference compare(String name, Content actual) {
+    // The golden file is compared as it is stored, because that is what is written in update mode.
+    try (ReadableByteChannel expectedChannel = new ResourceLoader(resourcePath.getClassLoader(), name, "UTF-8",
+        ReadConfiguration.DEFAULT, false).asChannel(); ReadableByteChannel actualChannel = actual.open()) {
+      return GoldenComparison.compare(expectedChannel, actualChannel);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("The golden file '%s' could not be compared.", name), e);
+    }
+  }
+
+  /**
+   * Replaces the golden file in the source directory and in the output directory, so later tests
+   * of the same run already see the new content.
+   */
+  private void write(String name, Path resource, Content actual) {
+    try {
+      if (resource != null && Compression.of(resource).isCompressed()) {
+        throw new IllegalStateException(
+            String.format("The golden file '%s' is compressed and can not be updated.", name));
+      }
+      Path source = directory.resolve(name);
+      replace(source, actual);
+      if (resource != null && resource.getFileSystem().equals(FileSystems.getDefault())
+          && !Files.isSameFile(resource, source)) {
+        replace(resource, actual);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("The golden file '%s' could not be updated.", name), e);
+    }
+    ResourceLocator.invalidate(resourcePath.getClassLoader(), name);
+    LOGGER.log(Level.INFO, () -> String.format("The golden file '%s' has been updated.", name));
+  }
+
+  private static void replace(Path target, Content content) throws IOException {
+    Path parent = target.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temporary = Files.createTempFile(parent, ".golden", ".tmp");
+    try {
+      try (InputStream in = Channels.newInputStream(content.open())) {
+        Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+      }
+      try {
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * @return The bytes as UTF-8 with line terminators and other control characters escaped,
+   * so the context is shown on a single line.
+   */
+  static String printable(byte[] bytes) {
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    String text;
+    try {
+      text = decoder.decode(ByteBuffer.wrap(bytes)).toString();
+    } catch (CharacterCodingException e) {
+      // Can not happen because of CodingErrorAction.REPLACE.
+      throw new IllegalStateException(e);
+    }
+    StringBuilder result = new StringBuilder(text.length());
+    for (char c : text.toCharArray()) {
+      switch (c) {
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          result.append("\\r");
+          break;
+        case '\t':
+          result.append("\\t");
+          break;
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        default:
+          if (Character.isISOControl(c)) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+      }
+    }
+    return result.toString();
+  }
+
+  private static String end(byte[] context) {
+    return context.length == 0 ? " (end of content)" : "";
+  }
+
+  @FunctionalInterface
+  private interface Content {
+    ReadableByteChannel open() throws IOException;
+  }
+}
@@ -0,0 +1,66 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Collects everything the extension has opened on behalf of a test (mappings, streams, channels)
+ * and releases it as soon as the owning {@link ExtensionContext} is closed.
+ * The handles are closed in reverse order of their registration.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourceHandles implements ExtensionContext.Store.CloseableResource {
+
+  private final Deque<AutoCloseable> handles = new ArrayDeque<>();
+
+  synchronized <T extends AutoCloseable> T register(T handle) {
+    handles.push(handle);
+    return handle;
+  }
+
+  @Override
+  public void close() throws Throwable {
+    Throwable failure = null;
+    AutoCloseable handle;
+    while ((handle = next()) != null) {
+      try {
+        handle.close();
+      } catch (Throwable e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private synchronized AutoCloseable next() {
+    return handles.poll();
+  }
+}
@@ -0,0 +1,217 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+/**
+ * An index of the names of all resources which are located in the classpath roots
+ * (directories and jars) of a class loader. The index is built once on first use and
+ * shared by all tests of a run. Queries only visit the names which start with the
+ * literal prefix of the given pattern.
+ * <p>
+ * Class files are not indexed. They make up most of the entries of the jars on the
+ * classpath (JUnit, AssertJ, ...) and are no resources in the sense of this extension.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceIndex {
+
+  private static final Map<ClassLoader, ResourceIndex> INDEXES = new WeakHashMap<>();
+
+  private static final String CLASS_SUFFIX = ".class";
+
+  /**
+   * The names of all resources in ascending order.
+   */
+  private final String[] names;
+
+  private ResourceIndex(String[] names) {
+    this.names = names;
+  }
+
+  static ResourceIndex of(ClassLoader classLoader) {
+    synchronized (INDEXES) {
+      return INDEXES.computeIfAbsent(classLoader, ResourceIndex::build);
+    }
+  }
+
+  static boolean isPattern(String name) {
+    return name.indexOf('*') >= 0 || name.indexOf('?') >= 0 || name.indexOf('[') >= 0 || name.indexOf('{') >= 0;
+  }
+
+  /**
+   * @param glob A glob pattern like {@code data/**&#47;*.json}.
+   * @return The names of all resources matching the pattern in ascending order.
+   */
+  List<String> find(String glob) {
+    String prefix = literalPrefix(glob);
+    Pattern pattern = Pattern.compile(toRegex(glob));
+
+    List<String> result = new ArrayList<>();
+    int index = Arrays.binarySearch(names, prefix);
+    for (int i = index < 0 ? -index - 1 : index; i < names.length && names[i].startsWith(prefix); i++) {
+      if (pattern.matcher(names[i]).matches()) {
+        result.add(names[i]);
+      }
+    }
+    return result;
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  private static ResourceIndex build(ClassLoader classLoader) {
+    TreeSet<String> names = new TreeSet<>();
+    try {
+      Enumeration<URL> directories = classLoader.getResources("");
+      while (directories.hasMoreElements()) {
+        URL directory = directories.nextElement();
+        if ("file".equals(directory.getProtocol())) {
+          addDirectory(names, ResourceLocator.toPath(directory));
+        }
+      }
+      // Every jar which contains a manifest is found that way without knowing the class path.
+      Enumeration<URL> manifests = classLoader.getResources(JarFile.MANIFEST_NAME);
+      while (manifests.hasMoreElements()) {
+        URL manifest = manifests.nextElement();
+        if ("jar".equals(manifest.getProtocol())) {
+          addJar(names, manifest);
+        }
+      }
+    } catch (IOException e) {
+      throw new ResourceNotFoundException("The resources of the classpath could not be indexed.", e);
+    }
+    return new ResourceIndex(names.toArray(new String[0]));
+  }
+
+  private static void addDirectory(TreeSet<String> names, Path root) throws IOException {
+    try (Stream<Path> files = Files.walk(root)) {
+      files.filter(Files::isRegularFile)
+          .map(file -> root.relativize(file).toString().replace(root.getFileSystem().getSeparator(), "/"))
+          .filter(name -> !name.endsWith(CLASS_SUFFIX))
+          .forEach(names::add);
+    }
+  }
+
+  private static void addJar(TreeSet<String> names, URL manifest) throws IOException {
+    JarURLConnection connection = (JarURLConnection) manifest.openConnection();
+    connection.setUseCaches(false);
+    try (JarFile jar = connection.getJarFile()) {
+      Enumeration<? extends ZipEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (!entry.isDirectory() && !entry.getName().endsWith(CLASS_SUFFIX)) {
+          names.add(entry.getName());
+        }
+      }
+    }
+  }
+
+  private static String literalPrefix(String glob) {
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '*' || c == '?' || c == '[' || c == '{' || c == '\\') {
+        return glob.substring(0, i);
+      }
+    }
+    return glob;
+  }
+
+  /**
+   * Converts a glob into a regular expression. {@code **} matches across directories,
+   * {@code *} and {@code ?} only within a single directory.
+   */
+  static String toRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    boolean inGroup = false;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      switch (c) {
+        case '*':
+          if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+            i++;
+            if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+              // "**/" matches also zero directories.
+              i++;
+              regex.append("(?:.*/)?");
+            } else {
+              regex.append(".*");
+            }
+          } else {
+            regex.append("[^/]*");
+          }
+          break;
+        case '?':
+          regex.append("[^/]");
+          break;
+        case '{':
+          inGroup = true;
+          regex.append("(?:");
+          break;
+        case '}':
+          inGroup = false;
+          regex.append(')');
+          break;
+        case ',':
+          regex.append(inGroup ? "|" : ",");
+          break;
+        case '[':
+          int end = glob.indexOf(']', i);
+          if (end < 0) {
+            regex.append("\\[");
+          } else {
+            String content = glob.substring(i + 1, end);
+            regex.append('[').append(content.startsWith("!") ? "^" + content.substring(1) : content).append(']');
+            i = end;
+          }
+          break;
+        case '\\':
+          if (i + 1 < glob.length()) {
+            regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+          }
+          break;
+        default:
+          if (Character.isLetterOrDigit(c) || c == '/') {
+            regex.append(c);
+          } else {
+            regex.append('\\').append(c);
+          }
+      }
+    }
+    return regex.toString();
+  }
+}
@@ -0,0 +1,291 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The lines of a resource as an unmodifiable random access list which is intended for huge text
+ * resources where only a few lines are inspected.
+ * <p>
+ * Only the offsets of the lines are kept in memory. They are determined on first access of the list
+ * and every line is decoded when it is requested by {@link #get(int)}. {@link #size()} does not decode
+ * anything. Line terminators are the same as for {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * The index is only used for uncompressed resources located on the file system in a charset
+ * which encodes line terminators as single bytes (UTF-8, ISO-8859-1, ...). Otherwise the lines
+ * are read completely like for {@link ResourceContentLines}.
+ * <p>
+ * If the {@link ResourceDiskCache} is enabled, the offsets are determined only once and loaded
+ * from the cache by all later forks and runs.
+ * <p>
+ * The list must not be used after the test has finished.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public final class ResourceLineIndex extends AbstractList<String> implements RandomAccess {
+
+  private static final byte LF = '\n';
+
+  private static final byte CR = '\r';
+
+  private final MappedFile file;
+
+  private final Charset charset;
+
+  private final List<String> lines;
+
+  private final ResourceDiskCache diskCache;
+
+  private final Path source;
+
+  private Offsets offsets;
+
+  private ResourceLineIndex(MappedFile file, Charset charset, List<String> lines, ResourceDiskCache diskCache,
+      Path source) {
+    this.file = file;
+    this.charset = charset;
+    this.lines = lines;
+    this.diskCache = diskCache;
+    this.source = source;
+  }
+
+  static ResourceLineIndex of(MappedFile file, Charset charset) {
+    return new ResourceLineIndex(file, charset, null, null, null);
+  }
+
+  /**
+   * @param source The file which is mapped by {@code file}.
+   * @param diskCache The cache of the offsets or {@code null} if it is disabled.
+   */
+  static ResourceLineIndex of(MappedFile file, Charset charset, Path source, ResourceDiskCache diskCache) {
+    return new ResourceLineIndex(file, charset, null, diskCache, source);
+  }
+
+  static ResourceLineIndex of(List<String> lines) {
+    return new ResourceLineIndex(null, null, lines, null, null);
+  }
+
+  /**
+   * @return {@code true} if line terminators are encoded as single bytes which can not be
+   * part of any other character in the given charset.
+   */
+  static boolean isIndexable(Charset charset) {
+    return charset.canEncode()
+        && Arrays.equals(new byte[] {LF}, "\n".getBytes(charset))
+        && Arrays.equals(new byte[] {CR}, "\r".getBytes(charset))
+        && Arrays.equals(new byte[] {'a'}, "a".getBytes(charset));
+  }
+
+  @Override
+  public String get(int index) {
+    if (lines != null) {
+      return lines.get(index);
+    }
+    Offsets current = offsets();
+    if (index < 0 || index >= current.count) {
+      throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, current.count));
+    }
+    long start = current.start(index);
+    long end = index + 1 < current.count ? current.start(index + 1) : file.size();
+    if (end > start && file.get(end - 1) == LF) {
+      end--;
+    }
+    if (end > start && file.get(end - 1) == CR) {
+      end--;
+    }
+    int length = (int) (end - start);
+    return ResourceDecoder.decode(file.get(start, length), 0, length, charset);
+  }
+
+  @Override
+  public int size() {
+    return lines != null ? lines.size() : offsets().count;
+  }
+
+  void release() {
+    if (file != null) {
+      file.close();
+    }
+  }
+
+  private synchronized Offsets offsets() {
+    if (offsets == null) {
+      offsets = diskCache != null ? cachedOffsets() : Offsets.of(file);
+    }
+    return offsets;
+  }
+
+  private Offsets cachedOffsets() {
+    try {
+      // The offsets only depend on the bytes, line terminators are encoded the same way by all indexable charsets.
+      Path entry = diskCache.get(source, null, "lines", target -> Offsets.of(file).write(target));
+      Offsets cached = Offsets.read(entry);
+      return cached != null ? cached : Offsets.of(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("The line offsets of '%s' could not be cached.", source), e);
+    }
+  }
+
+  /**
+   * The start offsets of all lines. They are kept as {@code int} as long as the file is
+   * smaller than 2 GiB, which halves the memory of the index.
+   */
+  private static final class Offsets {
+
+    private int[] ints;
+
+    private long[] longs;
+
+    private int count;
+
+    /**
+     * The capacity the index starts with. It grows by doubling and is trimmed to the
+     * number of lines at the end, so files with long lines do not keep unused slots.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Offsets(long size) {
+      this(size, INITIAL_CAPACITY);
+    }
+
+    private Offsets(long size, int capacity) {
+      if (size <= Integer.MAX_VALUE) {
+        ints = new int[capacity];
+      } else {
+        longs = new long[capacity];
+      }
+    }
+
+    /**
+     * Reads offsets written by {@link #write(Path)}.
+     *
+     * @return The offsets or {@code null} if the entry is too large to be mapped at once.
+     */
+    static Offsets read(Path entry) throws IOException {
+      if (Files.size(entry) > Integer.MAX_VALUE) {
+        return null;
+      }
+      MappedByteBuffer buffer = MappedBuffers.map(entry);
+      try {
+        int width = buffer.getInt();
+        int count = buffer.getInt();
+        Offsets offsets = new Offsets(width == Integer.BYTES ? 0 : Long.MAX_VALUE, count);
+        if (offsets.ints != null) {
+          buffer.asIntBuffer().get(offsets.ints, 0, count);
+        } else {
+          buffer.asLongBuffer().get(offsets.longs, 0, count);
+        }
+        offsets.count = count;
+        return offsets;
+      } finally {
+        MappedBuffers.unmap(buffer);
+      }
+    }
+
+    /**
+     * Writes the width of the offsets, their number and the offsets themselves in big endian order,
+     * so they can be read back via a mapping of the file.
+     */
+    void write(Path target) throws IOException {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target),
+          64 * 1024))) {
+        out.writeInt(ints != null ? Integer.BYTES : Long.BYTES);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+          if (ints != null) {
+            out.writeInt(ints[i]);
+          } else {
+            out.writeLong(longs[i]);
+          }
+        }
+      }
+    }
+
+    static Offsets of(MappedFile file) {
+      long size = file.size();
+      Offsets offsets = new Offsets(size);
+      if (size > 0) {
+        offsets.add(0);
+      }
+      for (long position = 0; position < size; position++) {
+        byte value = file.get(position);
+        if (value == CR && position + 1 < size && file.get(position + 1) == LF) {
+          position++;
+        } else if (value != LF && value != CR) {
+          continue;
+        }
+        if (position + 1 < size) {
+          offsets.add(position + 1);
+        }
+      }
+      offsets.trim();
+      return offsets;
+    }
+
+    long start(int index) {
+      return ints != null ? ints[index] : longs[index];
+    }
+
+    private void trim() {
+      if (ints != null && ints.length > count) {
+        ints = Arrays.copyOf(ints, count);
+      } else if (longs != null && longs.length > count) {
+        longs = Arrays.copyOf(longs, count);
+      }
+    }
+
+    private void add(long offset) {
+      int capacity = ints != null ? ints.length : longs.length;
+      if (count == capacity) {
+        if (capacity == Integer.MAX_VALUE - 8) {
+          throw new IllegalStateException("The resource contains too many lines to be indexed.");
+        }
+        int grown = (int) Math.min(Integer.MAX_VALUE - 8, capacity * 2L);
+        if (ints != null) {
+          ints = Arrays.copyOf(ints, grown);
+        } else {
+          longs = Arrays.copyOf(longs, grown);
+        }
+      }
+      if (ints != null) {
+        ints[count++] = (int) offset;
+      } else {
+        longs[count++] = offset;
+      }
+    }
+  }
+}
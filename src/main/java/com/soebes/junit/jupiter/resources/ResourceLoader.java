@@ -19,16 +19,34 @@ package com.soebes.junit.jupiter.resources;
  * under the License.
  */
 
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * Reads a single resource. Compressed resources (see {@link Compression}) are decompressed
+ * transparently while reading. All textual content is decoded by the {@link ResourceDecoder}.
+ * Uncompressed resources are read completely by the {@link ReadStrategy} which is selected by the
+ * {@link ReadConfiguration} for their size. If the {@link ResourceDiskCache} is enabled, compressed
+ * resources are decompressed only once into the cache and read from there like uncompressed ones.
+ * Decompression can be turned off to read compressed resources as they are stored.
+ *
  * @author Karl Heinz Marbaise
  */
 class ResourceLoader {
@@ -36,59 +54,297 @@ class ResourceLoader {
   private final ClassLoader classLoader;
   private final String resourceName;
   private final Charset encoding;
+  private final ReadConfiguration configuration;
+  private final boolean decompress;
+
+  /**
+   * The file the content is read from and how it is compressed. Both are determined on first use,
+   * so the resource is probed for its compression only once.
+   */
+  private Path contentPath;
+  private Compression contentCompression;
 
   ResourceLoader(ClassLoader classLoader, String resourceName, String encoding) {
+    this(classLoader, resourceName, encoding, ReadConfiguration.DEFAULT);
+  }
+
+  ResourceLoader(ClassLoader classLoader, String resourceName, String encoding, ReadConfiguration configuration) {
+    this(classLoader, resourceName, encoding, configuration, true);
+  }
+
+  /**
+   * @param decompress {@code false} to read compressed resources as they are stored.
+   */
+  ResourceLoader(ClassLoader classLoader, String resourceName, String encoding, ReadConfiguration configuration,
+      boolean decompress) {
     this.classLoader = classLoader;
     this.resourceName = resourceName;
     this.encoding = Charset.forName(encoding);
+    this.configuration = configuration;
+    this.decompress = decompress;
   }
 
   List<String> asList() {
-    URL resource = getResource(this.classLoader, this.resourceName);
+    return CachedResource.split(asString());
+  }
+
+  Stream<String> asStream() {
+    Path path = contentPath();
     try {
-      return Files.readAllLines(getResourcePath(resource), this.encoding);
+      if (!compression().isCompressed()) {
+        if (isSplittable(path)) {
+          MappedFile file = MappedFile.map(path);
+          return StreamSupport.stream(new LineSpliterator(file, this.encoding), false).onClose(file::close);
+        }
+        return Files.lines(path, this.encoding);
+      }
+      BufferedReader reader = reader(path);
+      return reader.lines().onClose(() -> close(reader));
     } catch (IOException e) {
       throw new ResourceNotFoundException(String.format("The resource '%s' could not be found.", this.resourceName), e);
     }
   }
 
-  Stream<String> asStream() {
-    URL resource = getResource(this.classLoader, this.resourceName);
+  InputStream asInputStream() {
+    Path path = contentPath();
     try {
-      return Files.lines(getResourcePath(resource), this.encoding);
+      return compression().open(path);
     } catch (IOException e) {
-      throw new ResourceNotFoundException(String.format("The resource '%s' could not be found.", this.resourceName), e);
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  BufferedReader asReader() {
+    Path path = contentPath();
+    try {
+      return reader(path);
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  ReadableByteChannel asChannel() {
+    Path path = contentPath();
+    try {
+      return channel(path, compression());
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
     }
   }
 
   String asString() {
-    URL resource = getResource(this.classLoader, this.resourceName);
+    Path path = contentPath();
     try {
-      return new String(Files.readAllBytes(getResourcePath(resource)));
+      Compression compression = compression();
+      if (!compression.isCompressed()) {
+        long size = Files.size(path);
+        return this.configuration.select(path, size).readString(path, size, this.encoding,
+            this.configuration.getBufferSize());
+      }
+      try (ReadableByteChannel channel = channel(path, compression)) {
+        return ResourceDecoder.decode(channel, compression.expectedSize(path), this.encoding,
+            this.configuration.getBufferSize());
+      }
     } catch (IOException e) {
       throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
     }
   }
 
   byte[] asBytes() {
-    URL resource = getResource(this.classLoader, this.resourceName);
+    Path path = contentPath();
+    try {
+      Compression compression = compression();
+      if (!compression.isCompressed()) {
+        long size = Files.size(path);
+        return this.configuration.select(path, size).readBytes(path, size, this.configuration.getBufferSize());
+      }
+      try (ReadableByteChannel channel = channel(path, compression)) {
+        return ResourceDecoder.readAllBytes(channel, compression.expectedSize(path), this.configuration.getBufferSize());
+      }
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  Path asPath() {
+    return getResourcePath(getResource(this.classLoader, this.resourceName));
+  }
+
+  /**
+   * @return The file the content is read from, which is the decompressed copy in the disk cache
+   * for compressed resources if the cache is enabled and the resource itself otherwise.
+   */
+  private synchronized Path contentPath() {
+    if (this.contentPath != null) {
+      return this.contentPath;
+    }
+    Path path = asPath();
+    try {
+      Compression compression = this.decompress ? Compression.of(path) : Compression.NONE;
+      ResourceDiskCache diskCache = this.configuration.getDiskCache();
+      if (diskCache != null && compression.isCompressed()) {
+        this.contentPath = diskCache.get(path, null, "payload", target -> {
+          try (InputStream in = compression.open(path)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+          }
+        });
+        // Entries of the disk cache are already decompressed, even if they look like compressed content.
+        this.contentCompression = Compression.NONE;
+      } else {
+        this.contentPath = path;
+        this.contentCompression = compression;
+      }
+      return this.contentPath;
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  /**
+   * @return How the content of {@link #contentPath()} is compressed.
+   */
+  private synchronized Compression compression() {
+    contentPath();
+    return this.contentCompression;
+  }
+
+  /**
+   * @return {@code true} if the content of the resource can be mapped into memory as it is. This is not
+   * the case for resources inside of archives or compressed resources.
+   */
+  boolean isMappable() {
+    return MappedBuffers.isMappable(contentPath()) && !compression().isCompressed();
+  }
+
+  /**
+   * @return The strategy the content of the resource is read with. Compressed resources
+   * are always decompressed while they are read from a channel.
+   */
+  ReadStrategy readStrategy() {
+    Path path = contentPath();
+    try {
+      if (compression().isCompressed()) {
+        return ReadStrategy.CHANNEL;
+      }
+      return this.configuration.select(path, Files.size(path));
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  MappedByteBuffer asMappedBuffer() {
+    Path path = contentPath();
+    if (!MappedBuffers.isMappable(path)) {
+      throw new ResourceNotFoundException(
+          String.format("The resource '%s' is located inside of an archive and can not be mapped.", this.resourceName));
+    }
+    try {
+      if (compression().isCompressed()) {
+        throw new ResourceNotFoundException(
+            String.format("The resource '%s' is compressed and can not be mapped.", this.resourceName));
+      }
+      return MappedBuffers.map(path);
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  /**
+   * @return The lines of the resource which are indexed over a mapping of the file if possible.
+   * The caller is responsible to call {@link ResourceLineIndex#release()}.
+   */
+  ResourceLineIndex asLineIndex() {
+    if (!ResourceLineIndex.isIndexable(this.encoding) || !isMappable()) {
+      return ResourceLineIndex.of(asList());
+    }
+    try {
+      Path path = contentPath();
+      return ResourceLineIndex.of(MappedFile.map(path), this.encoding, path, this.configuration.getDiskCache());
+    } catch (IOException e) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
+    }
+  }
+
+  /**
+   * Parses a single column of the delimited resource while it is read, so only the resulting array
+   * is held in memory.
+   *
+   * @return The values as {@code int[]}, {@code long[]} or {@code double[]}.
+   */
+  Object asColumn(ColumnReader.Type type, ResourceColumn column) {
+    DelimitedParser parser = new DelimitedParser(DelimitedParser.delimiterOf(this.resourceName, column.delimiter()));
     try {
-      return Files.readAllBytes(getResourcePath(resource));
+      if (!ResourceLineIndex.isIndexable(this.encoding)) {
+        ColumnReader reader = new ColumnReader(this.resourceName, StandardCharsets.UTF_8, type, column.header(),
+            column.value(), column.index());
+        byte[] content = asString().getBytes(StandardCharsets.UTF_8);
+        parser.parse(content, content.length, reader);
+        return reader.values();
+      }
+      ColumnReader reader = new ColumnReader(this.resourceName, this.encoding, type, column.header(),
+          column.value(), column.index());
+      try (ReadableByteChannel channel = asChannel()) {
+        parser.parse(channel, reader);
+      }
+      return reader.values();
     } catch (IOException e) {
       throw new ResourceNotFoundException(String.format("The resource '%s' could not be read.", this.resourceName), e);
     }
   }
 
+  /**
+   * @param column The definition of the delimiter and the header, may be {@code null} to use the defaults.
+   */
+  ResourceTable asTable(ResourceColumn column) {
+    char delimiter = DelimitedParser.delimiterOf(this.resourceName, column != null ? column.delimiter() : 0);
+    boolean header = column == null || column.header();
+    // The parser works on bytes, so the content is converted if a delimiter could be part of another character.
+    if (!ResourceLineIndex.isIndexable(this.encoding)) {
+      return ResourceTable.of(this.resourceName, asString().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8,
+          delimiter, header);
+    }
+    return ResourceTable.of(this.resourceName, asBytes(), this.encoding, delimiter, header);
+  }
+
+  /**
+   * Files on the file system which are large enough to be mapped are streamed via a {@link LineSpliterator}
+   * which splits much better than {@link Files#lines(Path, Charset)} on JDK 8.
+   */
+  private boolean isSplittable(Path path) throws IOException {
+    return ResourceLineIndex.isIndexable(this.encoding)
+        && this.configuration.select(path, Files.size(path)) == ReadStrategy.MAPPED;
+  }
+
+  private ReadableByteChannel channel(Path path, Compression compression) throws IOException {
+    if (compression.isCompressed()) {
+      return Channels.newChannel(compression.open(path));
+    }
+    return Files.newByteChannel(path, StandardOpenOption.READ);
+  }
+
+  private BufferedReader reader(Path path) throws IOException {
+    Compression compression = compression();
+    if (!compression.isCompressed()) {
+      return Files.newBufferedReader(path, this.encoding);
+    }
+    return new BufferedReader(new InputStreamReader(compression.open(path), this.encoding.newDecoder()));
+  }
+
+  private void close(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private Path getResourcePath(URL resource) {
-    return Paths.get(resource.getFile());
+    return ResourceLocator.toPath(resource);
   }
 
   private URL getResource(ClassLoader classLoader, String resourceName) {
-    URL resource = classLoader.getResource(resourceName);
-    if (resource == null) {
-      throw new ResourceNotFoundException(String.format("The resource '%s' could not be found.", resourceName));
-    }
-    return resource;
+    return ResourceLocator.find(classLoader, resourceName).orElseThrow(() ->
+        new ResourceNotFoundException(String.format("The resource '%s' could not be found.", resourceName)));
   }
 
 
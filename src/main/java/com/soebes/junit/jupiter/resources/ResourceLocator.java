@@ -0,0 +1,93 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up resources and converts the {@link URL} of a resource into a {@link Path} independent of
+ * the location of the resource (directory or archive).
+ * <p>
+ * {@link ClassLoader#getResource(String)} walks the whole classpath for every call, which is
+ * most expensive for resources which do not exist. Therefore the result of every lookup, found or
+ * not, is cached per class loader. A resource which is created on the classpath after it has
+ * been looked up is only found after {@link #invalidate(ClassLoader, String)}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceLocator {
+
+  private static final Map<ClassLoader, Map<String, Optional<URL>>> LOOKUPS = new WeakHashMap<>();
+
+  private ResourceLocator() {
+    // intentionally empty.
+  }
+
+  /**
+   * @return The {@link URL} of the resource or {@link Optional#empty()} if it does not exist.
+   */
+  static Optional<URL> find(ClassLoader classLoader, String name) {
+    return lookups(classLoader).computeIfAbsent(name, key -> Optional.ofNullable(classLoader.getResource(key)));
+  }
+
+  /**
+   * @return The {@link Path} of the resource or {@link Optional#empty()} if it does not exist.
+   */
+  static Optional<Path> findPath(ClassLoader classLoader, String name) {
+    return find(classLoader, name).map(ResourceLocator::toPath);
+  }
+
+  /**
+   * Removes the cached result of the lookup of the given resource, for example after it has been created.
+   */
+  static void invalidate(ClassLoader classLoader, String name) {
+    lookups(classLoader).remove(name);
+  }
+
+  private static Map<String, Optional<URL>> lookups(ClassLoader classLoader) {
+    // The values do not reference the class loader, so it can still be garbage collected.
+    synchronized (LOOKUPS) {
+      return LOOKUPS.computeIfAbsent(classLoader, key -> new ConcurrentHashMap<>());
+    }
+  }
+
+  static Path toPath(URL resource) {
+    switch (resource.getProtocol()) {
+      case "file":
+        try {
+          return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+          return Paths.get(resource.getFile());
+        }
+      case "jar":
+        return ArchiveFileSystems.toPath(resource);
+      default:
+        throw new ResourceNotFoundException(String.format("The resource '%s' is not supported.", resource));
+    }
+  }
+
+}
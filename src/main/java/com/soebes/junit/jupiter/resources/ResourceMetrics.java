@@ -0,0 +1,229 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * The instrumentation of all resolutions of a run. It is located in the store of the root
+ * context and is enabled via the configuration parameter {@link #ENABLED_PROPERTY}.
+ * <p>
+ * Every resolution is published as report entry of the test which requested it. At the end of the
+ * run a summary of the heaviest and the most often loaded resources is logged via
+ * {@code java.util.logging}. Independent of that {@link ResourceResolutionEvent}s are emitted
+ * whenever a Flight Recorder recording is running.
+ * <p>
+ * {@link ResourceContentString} and {@link ResourceContentLines} are read on first access during the
+ * test. They are recorded twice: as {@link ResourceResolution.Mode#DEFERRED} when they are injected and
+ * with the actual mode, the bytes read and the decoding time when they are read (see {@link #measure}).
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourceMetrics implements ExtensionContext.Store.CloseableResource {
+
+  /**
+   * The name of the configuration parameter to enable report entries and the summary.
+   */
+  static final String ENABLED_PROPERTY = "resources-extension.metrics.enabled";
+
+  /**
+   * The name of the configuration parameter to define the number of resources listed in the summary.
+   */
+  static final String TOP_PROPERTY = "resources-extension.metrics.top";
+
+  static final int DEFAULT_TOP = 10;
+
+  private static final Logger LOGGER = Logger.getLogger(ResourceMetrics.class.getName());
+
+  private static final boolean FLIGHT_RECORDER_AVAILABLE = flightRecorderAvailable();
+
+  private final boolean enabled;
+
+  private final int top;
+
+  private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+  ResourceMetrics(boolean enabled, int top) {
+    this.enabled = enabled;
+    this.top = top;
+  }
+
+  static boolean isFlightRecorderAvailable() {
+    return FLIGHT_RECORDER_AVAILABLE;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return The started event or {@code null} if Flight Recorder is not available or not recording.
+   */
+  Object startEvent() {
+    return FLIGHT_RECORDER_AVAILABLE ? ResourceResolutionEvent.start() : null;
+  }
+
+  void record(ExtensionContext extensionContext, ResourceResolution resolution, Object event) {
+    if (event != null) {
+      ((ResourceResolutionEvent) event).finish(resolution);
+    }
+    if (!enabled) {
+      return;
+    }
+    extensionContext.publishReportEntry(reportEntry(resolution));
+    statistics.computeIfAbsent(resolution.getResource(), key -> new Statistics(key)).add(resolution);
+  }
+
+  /**
+   * Measures a read which happens after the resolution, for example the first access of deferred content,
+   * and records it as a resolution of its own.
+   *
+   * @param resource The name of the resource.
+   * @param read Reads the resource.
+   */
+  <T> T measure(ExtensionContext extensionContext, String resource, Supplier<T> read) {
+    Object event = startEvent();
+    if (!enabled && event == null) {
+      return read.get();
+    }
+    IoProbe probe = IoProbe.start();
+    long start = System.nanoTime();
+    try {
+      return read.get();
+    } finally {
+      long resolutionNanos = System.nanoTime() - start;
+      probe.stop();
+      ResourceResolution.Mode mode = probe.getMode() != null ? probe.getMode() : ResourceResolution.Mode.CACHE_HIT;
+      record(extensionContext, new ResourceResolution(resource, mode, probe.getBytesRead(), probe.getDecodeNanos(),
+          resolutionNanos), event);
+    }
+  }
+
+  static Map<String, String> reportEntry(ResourceResolution resolution) {
+    Map<String, String> entry = new LinkedHashMap<>();
+    entry.put("resource", resolution.getResource());
+    entry.put("mode", resolution.getMode().name());
+    entry.put("bytesRead", Long.toString(resolution.getBytesRead()));
+    entry.put("decodeNanos", Long.toString(resolution.getDecodeNanos()));
+    entry.put("resolutionNanos", Long.toString(resolution.getResolutionNanos()));
+    return entry;
+  }
+
+  /**
+   * @return The summary or an empty string if nothing has been recorded.
+   */
+  String summary() {
+    List<Statistics> all = new ArrayList<>(statistics.values());
+    if (all.isEmpty()) {
+      return "";
+    }
+    long resolutions = all.stream().mapToLong(s -> s.resolutions).sum();
+    long bytes = all.stream().mapToLong(s -> s.bytesRead).sum();
+    long nanos = all.stream().mapToLong(s -> s.resolutionNanos).sum();
+
+    StringBuilder summary = new StringBuilder();
+    summary.append(String.format(Locale.ROOT, "%d resolutions of %d resources, %d bytes read, %.1f ms spent in resolving.",
+        resolutions, all.size(), bytes, nanos / 1e6));
+
+    summary.append(System.lineSeparator()).append("Heaviest resources:");
+    List<Statistics> heaviest = all.stream()
+        .sorted(Comparator.comparingLong((Statistics s) -> s.bytesRead)
+            .thenComparingLong(s -> s.resolutionNanos).reversed())
+        .limit(top)
+        .collect(Collectors.toList());
+    for (Statistics current : heaviest) {
+      summary.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+          "  %,15d bytes read in %d resolutions (%.1f ms, decoding %.1f ms): %s", current.bytesRead,
+          current.resolutions, current.resolutionNanos / 1e6, current.decodeNanos / 1e6, current.resource));
+    }
+
+    List<Statistics> redundant = all.stream()
+        .filter(s -> s.loads > 1)
+        .sorted(Comparator.comparingLong((Statistics s) -> s.loads).thenComparingLong(s -> s.bytesRead).reversed())
+        .limit(top)
+        .collect(Collectors.toList());
+    if (!redundant.isEmpty()) {
+      summary.append(System.lineSeparator()).append("Most redundantly loaded resources:");
+      for (Statistics current : redundant) {
+        summary.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+            "  %,6d loads of %d resolutions: %s", current.loads, current.resolutions, current.resource));
+      }
+    }
+    return summary.toString();
+  }
+
+  @Override
+  public void close() {
+    String summary = summary();
+    if (!summary.isEmpty()) {
+      LOGGER.log(Level.INFO, summary);
+    }
+  }
+
+  private static boolean flightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, ResourceMetrics.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static final class Statistics {
+
+    private final String resource;
+
+    private long resolutions;
+
+    private long loads;
+
+    private long bytesRead;
+
+    private long decodeNanos;
+
+    private long resolutionNanos;
+
+    Statistics(String resource) {
+      this.resource = resource;
+    }
+
+    synchronized void add(ResourceResolution resolution) {
+      resolutions++;
+      if (resolution.isLoad()) {
+        loads++;
+      }
+      bytesRead += resolution.getBytesRead();
+      decodeNanos += resolution.getDecodeNanos();
+      resolutionNanos += resolution.getResolutionNanos();
+    }
+  }
+}
@@ -21,11 +21,12 @@ package com.soebes.junit.jupiter.resources;
 
 import org.apiguardian.api.API;
 
-import java.net.URL;
+import java.nio.MappedByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
@@ -38,8 +39,33 @@ public class ResourcePath {
 
   private final ClassLoader classLoader;
 
+  private final ResourceHandles handles;
+
+  private final boolean decompress;
+
   ResourcePath(ClassLoader classLoader) {
+    this(classLoader, null);
+  }
+
+  ResourcePath(ClassLoader classLoader, ResourceHandles handles) {
+    this(classLoader, handles, true);
+  }
+
+  private ResourcePath(ClassLoader classLoader, ResourceHandles handles, boolean decompress) {
     this.classLoader = classLoader;
+    this.handles = handles;
+    this.decompress = decompress;
+  }
+
+  /**
+   * Compressed resources are decompressed while they are read, like
+   * {@link ResourceRead#decompress()} does by default.
+   *
+   * @return A {@link ResourcePath} which reads compressed resources as they are stored.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  public ResourcePath asStored() {
+    return new ResourcePath(this.classLoader, this.handles, false);
   }
 
   ClassLoader getClassLoader() {
@@ -48,37 +74,97 @@ public class ResourcePath {
 
   /**
    * @param name The name of the resource you would like to get.
-   * @return The {@link Path} of the requested resource.
+   * @return The {@link Path} of the requested resource. If the resource is located inside of an
+   * archive (for example a test-jar) the path belongs to the mounted zip file system of that archive.
    * @throws ResourceNotFoundException in case of trying to access a resource which does not exist.
    */
   public Path get(String name) {
-    URL resource = this.classLoader.getResource(name);
-    if (resource == null) {
-      throw new ResourceNotFoundException(String.format("The resource '%s' couldn't being found.", name));
+    return find(name).orElseThrow(() ->
+        new ResourceNotFoundException(String.format("The resource '%s' couldn't being found.", name)));
+  }
+
+  /**
+   * @param name The name of the resource you would like to get.
+   * @return The {@link Path} of the requested resource or {@link Optional#empty()} if it does not exist.
+   * This is much cheaper than catching the exception of {@link #get(String)} for optional resources.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  public Optional<Path> find(String name) {
+    return ResourceLocator.findPath(this.classLoader, name);
+  }
+
+  /**
+   * @param glob A glob pattern like {@code data/**&#47;*.json}. {@code **} matches across
+   *             directories, {@code *} and {@code ?} only within a single directory.
+   * @return The paths of all resources on the classpath matching the pattern in ascending order of their names.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  public List<Path> glob(String glob) {
+    List<Path> result = new ArrayList<>();
+    for (String name : ResourceIndex.of(this.classLoader).find(glob)) {
+      result.add(get(name));
     }
-    return Paths.get(resource.getFile());
+    return result;
   }
 
+  /**
+   * @param name The name of the resource you would like to read.
+   * @return The lines of the resource. If the instance has been injected by the extension
+   * the stream is closed at the end of the test at the latest. Large resources on the file
+   * system are read via a memory mapping which splits well for parallel streams.
+   */
   public Stream<String> lines(String name) {
-    return new ResourceLoader(this.classLoader, name, "UTF-8").asStream();
+    return register(loader(name, "UTF-8").asStream());
   }
 
+  /**
+   * @param name The name of the resource you would like to read.
+   * @param cs The charset which is used to decode the resource.
+   * @return The lines of the resource. If the instance has been injected by the extension
+   * the stream is closed at the end of the test at the latest. Large resources on the file
+   * system are read via a memory mapping which splits well for parallel streams.
+   */
   public Stream<String> lines(String name, Charset cs) {
-    return new ResourceLoader(this.classLoader, name, cs.name()).asStream();
+    return register(loader(name, cs.name()).asStream());
   }
 
   public List<String> readAllLines(String name) {
-    return new ResourceLoader(this.classLoader, name, "UTF-8").asList();
+    return loader(name, "UTF-8").asList();
   }
 
   public List<String> readAllLines(String name, Charset cs) {
-    return new ResourceLoader(this.classLoader, name, cs.name()).asList();
+    return loader(name, cs.name()).asList();
   }
 
   public byte[] readAllBytes(String name) {
     //Hint: The given encoding is being ignored, because reading a file as byte
     //has no encoding.
-    return new ResourceLoader(this.classLoader, name, "UTF-8").asBytes();
+    return loader(name, "UTF-8").asBytes();
+  }
+
+  /**
+   * @param name The name of the resource you would like to map.
+   * @return A read-only memory mapping of the whole resource. If the instance has been injected
+   * by the extension the mapping is released at the end of the test and must not be used afterwards.
+   * @throws ResourceNotFoundException in case the resource does not exist or is located inside of an archive.
+   * @throws IllegalStateException in case the resource is too large to be mapped at once (2 GiB and more).
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  public MappedByteBuffer map(String name) {
+    MappedByteBuffer buffer = loader(name, "UTF-8").asMappedBuffer();
+    register(() -> MappedBuffers.unmap(buffer));
+    return buffer;
+  }
+
+  private ResourceLoader loader(String name, String encoding) {
+    return new ResourceLoader(this.classLoader, name, encoding, ReadConfiguration.DEFAULT, this.decompress);
+  }
+
+  private <T extends AutoCloseable> T register(T handle) {
+    if (this.handles != null) {
+      this.handles.register(handle);
+    }
+    return handle;
   }
 
 }
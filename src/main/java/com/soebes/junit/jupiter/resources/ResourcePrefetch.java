@@ -0,0 +1,80 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The resources of a test class which are read in the background before the first
+ * test of the class is executed.
+ * <p>
+ * A prefetched resource is handed over only once and then left to the {@link ResourceCache},
+ * so it is part of the budget of the cache afterwards. Prefetched resources which are never
+ * requested are held until the test class has finished.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourcePrefetch {
+
+  private final Map<List<String>, CompletableFuture<CachedResource>> resources = new ConcurrentHashMap<>();
+
+  private final ClassLoader classLoader;
+  private final ResourceCache cache;
+  private final ResourceExecutor executor;
+
+  ResourcePrefetch(ClassLoader classLoader, ResourceCache cache, ResourceExecutor executor) {
+    this.classLoader = classLoader;
+    this.cache = cache;
+    this.executor = executor;
+  }
+
+  /**
+   * Annotations which do not name exactly one resource are ignored, the problem is reported
+   * when the parameter is resolved.
+   */
+  void prefetch(ResourceRead annotation) {
+    if (annotation.value().length != 1) {
+      return;
+    }
+    resources.computeIfAbsent(key(annotation),
+        key -> executor.submit(() -> cache.get(classLoader, ResolutionPlan.resourceName(annotation),
+            annotation.encoding(), annotation.decompress())));
+  }
+
+  /**
+   * @return The prefetched resource or {@code null} if the resource has not been prefetched.
+   */
+  CachedResource get(ResourceRead annotation) {
+    if (annotation.value().length != 1) {
+      return null;
+    }
+    CompletableFuture<CachedResource> future = resources.remove(key(annotation));
+    return future == null ? null : ResourceExecutor.join(future);
+  }
+
+  private static List<String> key(ResourceRead annotation) {
+    return Arrays.asList(ResolutionPlan.resourceName(annotation), annotation.encoding(),
+        String.valueOf(annotation.decompress()));
+  }
+}
@@ -36,10 +36,38 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public @interface ResourceRead {
 
-  String value() default "";
+  /**
+   * @return The name of the resource. Parameters of type {@code Map<String, byte[]>}, {@code Map<String, String>}
+   * or {@code Map<String, Path>} accept several names, glob patterns (see {@link ResourcePath#glob(String)})
+   * and prefixes ending with {@code /} which select all resources below that directory. All other types
+   * require exactly one name.
+   */
+  String[] value() default {};
 
   String encoding() default "UTF-8";
 
+  /**
+   * @return The byte order of a binary resource which is injected as {@code int[]}, {@code long[]},
+   * {@code float[]}, {@code double[]} or as the corresponding {@link java.nio.Buffer}.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  ResourceByteOrder byteOrder() default ResourceByteOrder.BIG_ENDIAN;
+
+  /**
+   * @return The size in bytes of the chunks of a resource which is injected as {@code Stream<ByteBuffer>}
+   * or {@code Iterable<ByteBuffer>}. All chunks are read into the same buffer, so a chunk must not be used
+   * after the next one has been requested.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  int chunkSize() default 64 * 1024;
+
+  /**
+   * @return {@code false} to get the content of a compressed resource (gzip, zip, deflate) as it is
+   * stored instead of decompressing it transparently, for example to test a parser of such files.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  boolean decompress() default true;
+
   /**
    * @return The resource
    * @deprecated Will be removed with Release 0.3.0
@@ -0,0 +1,111 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * The measurements of resolving a single parameter.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class ResourceResolution {
+
+  /**
+   * How the content of a resource has been obtained.
+   */
+  enum Mode {
+    /**
+     * Taken from the {@link ResourceCache}.
+     */
+    CACHE_HIT,
+    /**
+     * Read completely and put into the {@link ResourceCache}.
+     */
+    CACHE_MISS,
+    /**
+     * Read in the background by {@link ResourcePrefetch}.
+     */
+    PREFETCHED,
+    /**
+     * Mapped into memory.
+     */
+    MAPPED,
+    /**
+     * Opened as stream, reader or channel which is read by the test.
+     */
+    STREAMED,
+    /**
+     * Indexed by {@link ResourceLineIndex}.
+     */
+    INDEXED,
+    /**
+     * Located by a glob pattern without reading the content.
+     */
+    GLOB,
+    /**
+     * Only checked for existence. The content is read on first access during the test.
+     */
+    DEFERRED
+  }
+
+  private final String resource;
+
+  private final Mode mode;
+
+  private final long bytesRead;
+
+  private final long decodeNanos;
+
+  private final long resolutionNanos;
+
+  ResourceResolution(String resource, Mode mode, long bytesRead, long decodeNanos, long resolutionNanos) {
+    this.resource = resource;
+    this.mode = mode;
+    this.bytesRead = bytesRead;
+    this.decodeNanos = decodeNanos;
+    this.resolutionNanos = resolutionNanos;
+  }
+
+  String getResource() {
+    return resource;
+  }
+
+  Mode getMode() {
+    return mode;
+  }
+
+  long getBytesRead() {
+    return bytesRead;
+  }
+
+  long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+  long getResolutionNanos() {
+    return resolutionNanos;
+  }
+
+  /**
+   * @return {@code true} if the resource has been read from its origin and not been taken from memory.
+   */
+  boolean isLoad() {
+    return mode != Mode.CACHE_HIT && mode != Mode.PREFETCHED && mode != Mode.GLOB && mode != Mode.DEFERRED;
+  }
+}
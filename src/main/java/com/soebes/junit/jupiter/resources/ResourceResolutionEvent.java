@@ -0,0 +1,83 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event for every resolution of a resource. The events are recorded
+ * as soon as a recording is running, for example started via {@code -XX:StartFlightRecording}.
+ * <p>
+ * This class must only be used if {@link ResourceMetrics#isFlightRecorderAvailable()} returns
+ * {@code true}, because it can not be loaded on JDKs without Flight Recorder.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Name("com.soebes.junit.jupiter.resources.ResourceResolution")
+@Label("Resource Resolution")
+@Description("A resource which has been injected by the resources extension.")
+@Category({"JUnit", "Resources Extension"})
+@StackTrace(false)
+final class ResourceResolutionEvent extends Event {
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Mode")
+  String mode;
+
+  @Label("Bytes Read")
+  @DataAmount
+  long bytesRead;
+
+  @Label("Decode Time")
+  @Timespan
+  long decodeTime;
+
+  /**
+   * @return The started event or {@code null} if the event is not enabled in any recording.
+   */
+  static ResourceResolutionEvent start() {
+    ResourceResolutionEvent event = new ResourceResolutionEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  void finish(ResourceResolution resolution) {
+    end();
+    if (shouldCommit()) {
+      resource = resolution.getResource();
+      mode = resolution.getMode().name();
+      bytesRead = resolution.getBytesRead();
+      decodeTime = resolution.getDecodeNanos();
+      commit();
+    }
+  }
+}
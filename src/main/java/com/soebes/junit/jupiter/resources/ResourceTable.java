@@ -0,0 +1,259 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A delimited text resource (CSV, TSV, ...) as a compact table. Only the content and the
+ * positions of the fields are kept in memory; values are created when they are requested.
+ * Numeric columns are parsed directly from the content without creating any {@link String}.
+ *
+ * <pre>
+ * &#64;Test
+ * void prices(&#64;ResourceRead("prices.csv") ResourceTable table) {
+ *   double[] prices = table.doubles("price");
+ *   ...
+ * }
+ * </pre>
+ *
+ * The delimiter and whether the first record is a header can be defined via {@link ResourceColumn}.
+ * By default a tab is used for {@code .tsv} files, a comma otherwise, and the first record is a header.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.2.1")
+public final class ResourceTable {
+
+  private final String resourceName;
+
+  private final byte[] content;
+
+  private final Charset charset;
+
+  private final List<String> header;
+
+  /**
+   * The index of the first field of each row within {@link #starts}, followed by the number of all fields.
+   */
+  private final int[] rows;
+
+  private final int[] starts;
+
+  private final int[] ends;
+
+  private final BitSet quoted;
+
+  private ResourceTable(String resourceName, byte[] content, Charset charset, List<String> header, int[] rows,
+      int[] starts, int[] ends, BitSet quoted) {
+    this.resourceName = resourceName;
+    this.content = content;
+    this.charset = charset;
+    this.header = header;
+    this.rows = rows;
+    this.starts = starts;
+    this.ends = ends;
+    this.quoted = quoted;
+  }
+
+  static ResourceTable of(String resourceName, byte[] content, Charset charset, char delimiter, boolean header) {
+    Builder builder = new Builder(charset, header);
+    new DelimitedParser(delimiter).parse(content, content.length, builder);
+    return builder.build(resourceName, content);
+  }
+
+  /**
+   * @return The number of rows without the header.
+   */
+  public int rows() {
+    return rows.length - 1;
+  }
+
+  /**
+   * @return The names of the columns or an empty list if the resource has no header.
+   */
+  public List<String> header() {
+    return header;
+  }
+
+  /**
+   * @return The index of the column with the given name in the header.
+   * @throws IllegalArgumentException if there is no such column.
+   */
+  public int column(String name) {
+    int index = header.indexOf(name);
+    if (index < 0) {
+      throw new IllegalArgumentException(
+          String.format("The column '%s' does not exist in the resource '%s'.", name, resourceName));
+    }
+    return index;
+  }
+
+  /**
+   * @return The value of the field. Enclosing quotes are removed and doubled quotes are unescaped.
+   */
+  public String get(int row, int column) {
+    int field = field(row, column);
+    return unquote(content, starts[field], ends[field], quoted.get(field), charset);
+  }
+
+  public int[] ints(String name) {
+    return ints(column(name));
+  }
+
+  public int[] ints(int column) {
+    int[] result = new int[rows()];
+    for (int row = 0; row < result.length; row++) {
+      int field = field(row, column);
+      try {
+        result[row] = Numbers.parseInt(content, starts[field], ends[field]);
+      } catch (NumberFormatException e) {
+        throw invalid(row, column, "int", e);
+      }
+    }
+    return result;
+  }
+
+  public long[] longs(String name) {
+    return longs(column(name));
+  }
+
+  public long[] longs(int column) {
+    long[] result = new long[rows()];
+    for (int row = 0; row < result.length; row++) {
+      int field = field(row, column);
+      try {
+        result[row] = Numbers.parseLong(content, starts[field], ends[field]);
+      } catch (NumberFormatException e) {
+        throw invalid(row, column, "long", e);
+      }
+    }
+    return result;
+  }
+
+  public double[] doubles(String name) {
+    return doubles(column(name));
+  }
+
+  public double[] doubles(int column) {
+    double[] result = new double[rows()];
+    for (int row = 0; row < result.length; row++) {
+      int field = field(row, column);
+      try {
+        result[row] = Numbers.parseDouble(content, starts[field], ends[field]);
+      } catch (NumberFormatException e) {
+        throw invalid(row, column, "double", e);
+      }
+    }
+    return result;
+  }
+
+  static String unquote(byte[] buffer, int start, int end, boolean quoted, Charset charset) {
+    String value = ResourceDecoder.decode(buffer, start, end - start, charset);
+    return quoted ? value.replace("\"\"", "\"") : value;
+  }
+
+  private int field(int row, int column) {
+    if (row < 0 || row >= rows()) {
+      throw new IndexOutOfBoundsException(String.format("Row: %d, Rows: %d", row, rows()));
+    }
+    if (column < 0 || rows[row] + column >= rows[row + 1]) {
+      throw new IllegalArgumentException(
+          String.format("The row %d of the resource '%s' has no column %d.", row, resourceName, column));
+    }
+    return rows[row] + column;
+  }
+
+  private IllegalArgumentException invalid(int row, int column, String type, NumberFormatException cause) {
+    return new IllegalArgumentException(String.format("The value '%s' in row %d of column %d of the resource '%s' "
+        + "is not a valid %s.", get(row, column), row, column, resourceName, type), cause);
+  }
+
+  private static final class Builder implements DelimitedParser.FieldHandler {
+
+    private final Charset charset;
+
+    private final boolean hasHeader;
+
+    private final List<String> header = new ArrayList<>();
+
+    private int[] rows = new int[1024];
+
+    private int rowCount;
+
+    private int[] starts = new int[1024];
+
+    private int[] ends = new int[1024];
+
+    private final BitSet quoted = new BitSet();
+
+    private int fieldCount;
+
+    Builder(Charset charset, boolean hasHeader) {
+      this.charset = charset;
+      this.hasHeader = hasHeader;
+    }
+
+    @Override
+    public void field(int record, int column, byte[] buffer, int start, int end, boolean quoted) {
+      if (hasHeader && record == 0) {
+        header.add(unquote(buffer, start, end, quoted, charset));
+        return;
+      }
+      if (column == 0) {
+        rows = grow(rows, rowCount + 1);
+        rows[rowCount++] = fieldCount;
+      }
+      starts = grow(starts, fieldCount + 1);
+      ends = grow(ends, fieldCount + 1);
+      starts[fieldCount] = start;
+      ends[fieldCount] = end;
+      if (quoted) {
+        this.quoted.set(fieldCount);
+      }
+      fieldCount++;
+    }
+
+    @Override
+    public void endOfRecord(int record, int columns) {
+      // The end of a row is the start of the next one.
+    }
+
+    ResourceTable build(String resourceName, byte[] content) {
+      int[] offsets = Arrays.copyOf(rows, rowCount + 1);
+      offsets[rowCount] = fieldCount;
+      return new ResourceTable(resourceName, content, charset, Collections.unmodifiableList(header), offsets,
+          Arrays.copyOf(starts, fieldCount), Arrays.copyOf(ends, fieldCount), quoted);
+    }
+
+    private static int[] grow(int[] array, int required) {
+      return required <= array.length ? array : Arrays.copyOf(array, Math.max(required, array.length * 2));
+    }
+  }
+}
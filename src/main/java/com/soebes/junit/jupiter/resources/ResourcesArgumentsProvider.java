@@ -0,0 +1,106 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+/**
+ * The {@link ArgumentsProvider} behind {@link ResourcesSource}. The resources are enumerated
+ * lazily and every resource is read only when the arguments of its invocation are requested.
+ *
+ * @author Karl Heinz Marbaise
+ */
+class ResourcesArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<ResourcesSource> {
+
+  private ResourcesSource resourcesSource;
+
+  @Override
+  public void accept(ResourcesSource resourcesSource) {
+    this.resourcesSource = resourcesSource;
+  }
+
+  @Override
+  public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws IOException {
+    Class<?>[] parameterTypes = context.getRequiredTestMethod().getParameterTypes();
+    if (parameterTypes.length == 0) {
+      throw new IllegalStateException("@ResourcesSource requires a test method with at least one parameter.");
+    }
+    Class<?> type = parameterTypes[0];
+    ClassLoader classLoader = context.getRequiredTestClass().getClassLoader();
+
+    return resources(context, classLoader).map(name -> () -> new Object[] {convert(context, classLoader, type, name)});
+  }
+
+  /**
+   * @return The names of the resources. The files of the directory are named relative to the
+   *   directory, so they are read like any other resource.
+   */
+  private Stream<String> resources(ExtensionContext context, ClassLoader classLoader) throws IOException {
+    Stream<String> named = Stream.of(resourcesSource.value());
+    if (resourcesSource.directory().isEmpty()) {
+      return named;
+    }
+    String directoryName = resourcesSource.directory().replaceAll("/+$", "");
+    Path directory = loader(context, classLoader, directoryName).asPath();
+    // Files.list reads the directory lazily; the stream is closed by JUnit after consumption.
+    return Stream.concat(named, Files.list(directory)
+        .filter(Files::isRegularFile)
+        .map(file -> directoryName + "/" + file.getFileName()));
+  }
+
+  /**
+   * The content is taken from the {@link ResourceCache} of the run, so it is decompressed, read
+   * with the configured {@link ReadStrategy} and shared with all other tests which read it.
+   */
+  private Object convert(ExtensionContext context, ClassLoader classLoader, Class<?> type, String name) {
+    if (type.equals(Path.class)) {
+      return loader(context, classLoader, name).asPath();
+    }
+    CachedResource content = TestResourceExtension.resourceCache(context)
+        .get(classLoader, name, resourcesSource.encoding());
+    if (type.equals(byte[].class)) {
+      return content.asBytes();
+    }
+    if (type.equals(String.class)) {
+      return content.asString();
+    }
+    if (type.equals(ResourceContentString.class)) {
+      return new ResourceContentString(content.asString());
+    }
+    if (type.equals(ResourceContentLines.class)) {
+      return new ResourceContentLines(new ArrayList<>(content.asLines()));
+    }
+    throw new IllegalStateException(String.format("The type '%s' is not supported by @ResourcesSource.", type.getName()));
+  }
+
+  private ResourceLoader loader(ExtensionContext context, ClassLoader classLoader, String name) {
+    return new ResourceLoader(classLoader, name, resourcesSource.encoding(),
+        TestResourceExtension.readConfiguration(context), true);
+  }
+}
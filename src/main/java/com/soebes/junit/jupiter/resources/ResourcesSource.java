@@ -0,0 +1,71 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Provides the content of resources as arguments of a {@code @ParameterizedTest}.
+ * The resources are given either by name or as all files of a directory on the classpath.
+ * Each resource is read not before the invocation it belongs to, so the memory
+ * consumption does not depend on the number of resources.
+ * <p>
+ * The first parameter of the test method defines what is injected: {@link ResourceContentLines},
+ * {@link ResourceContentString}, {@link String}, {@code byte[]} or {@link java.nio.file.Path}.
+ *
+ * <pre>
+ * &#64;ParameterizedTest
+ * &#64;ResourcesSource(directory = "content")
+ * void check_for_content(ResourceContentLines lines) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@API(status = EXPERIMENTAL, since = "0.2.1")
+@ArgumentsSource(ResourcesArgumentsProvider.class)
+public @interface ResourcesSource {
+
+  /**
+   * @return The names of the resources.
+   */
+  String[] value() default {};
+
+  /**
+   * @return The name of a directory on the classpath. All regular files within the
+   * directory (not recursive) are used in the order the file system returns them.
+   */
+  String directory() default "";
+
+  String encoding() default "UTF-8";
+}
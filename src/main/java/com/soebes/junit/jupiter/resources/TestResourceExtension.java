@@ -19,171 +19,549 @@ package com.soebes.junit.jupiter.resources;
  * under the License.
  */
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
-
+import org.junit.jupiter.api.extension.TestInstancePostProcessor;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.List;
-import java.util.stream.Stream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * @author Karl Heinz Marbaise
  */
-class TestResourceExtension implements ParameterResolver {
+class TestResourceExtension implements BeforeAllCallback, TestInstancePostProcessor, ParameterResolver {
+
+  private static final Namespace NAMESPACE = Namespace.create(TestResourceExtension.class);
 
-  private enum ParameterType {
-    ResourceContentString(ResourceContentString.class),
-    ResourceContentLines(ResourceContentLines.class),
-    ResourcePath(ResourcePath.class),
-    ResourceFile(ResourceFile.class);
+  /**
+   * If prefetching is enabled via {@link TestResources#prefetch()} all resources which are
+   * declared on the test methods of the class are read concurrently in the background.
+   * Static fields are injected once for the whole class.
+   */
+  @Override
+  public void beforeAll(ExtensionContext extensionContext) {
+    Class<?> testClass = extensionContext.getRequiredTestClass();
+    if (testResources(testClass).map(TestResources::prefetch).orElse(false)) {
+      prefetch(testClass, extensionContext);
+    }
+    injectFields(testClass, null, extensionContext);
+  }
 
-    private Class<?> klass;
+  /**
+   * Values which are immutable are resolved only once per test class and shared by all of its
+   * instances, so a fixture is not read again for every test method. All other values are resolved
+   * for every instance and released after the test class has finished.
+   */
+  @Override
+  public void postProcessTestInstance(Object testInstance, ExtensionContext extensionContext) {
+    injectFields(testInstance.getClass(), testInstance, extensionContext);
+  }
 
-    ParameterType(Class<?> klass) {
-      this.klass = klass;
+  private void prefetch(Class<?> testClass, ExtensionContext extensionContext) {
+    ResourcePrefetch prefetch = new ResourcePrefetch(testClass.getClassLoader(), resourceCache(extensionContext),
+        resourceExecutor(extensionContext));
+    extensionContext.getStore(NAMESPACE).put(ResourcePrefetch.class, prefetch);
+
+    for (Method method : ReflectionSupport.findMethods(testClass, TestResourceExtension::isInvoked,
+        HierarchyTraversalMode.TOP_DOWN)) {
+      for (Parameter parameter : method.getParameters()) {
+        ResolutionPlan plan = plan(parameter, extensionContext);
+        if (plan.isCacheable() && plan.getResourceRead() != null) {
+          prefetch.prefetch(plan.getResourceRead());
+        }
+      }
     }
+  }
+
+  /**
+   * @return {@code true} for test methods (including parameterized tests, test factories and
+   *   templates) and lifecycle methods, whose parameters are resolved by JUnit.
+   */
+  private static boolean isInvoked(Method method) {
+    return AnnotationSupport.isAnnotated(method, Testable.class)
+        || AnnotationSupport.isAnnotated(method, BeforeEach.class)
+        || AnnotationSupport.isAnnotated(method, AfterEach.class)
+        || AnnotationSupport.isAnnotated(method, BeforeAll.class)
+        || AnnotationSupport.isAnnotated(method, AfterAll.class);
+  }
 
-    Class<?> getKlass() {
-      return klass;
+  /**
+   * @param testInstance The instance whose fields are injected or {@code null} to inject the static fields.
+   */
+  private void injectFields(Class<?> testClass, Object testInstance, ExtensionContext extensionContext) {
+    boolean statics = testInstance == null;
+    Predicate<Field> injected = field -> Modifier.isStatic(field.getModifiers()) == statics
+        && (field.isAnnotationPresent(ResourceRead.class) || field.isAnnotationPresent(ResourceCopy.class));
+    for (Field field : ReflectionSupport.findFields(testClass, injected, HierarchyTraversalMode.TOP_DOWN)) {
+      ResolutionPlan plan = plan(field, extensionContext);
+      if (!plan.isSupported() || Modifier.isFinal(field.getModifiers())) {
+        throw new ExtensionConfigurationException(String.format("The field '%s' is not supported.", field));
+      }
+      Object value;
+      if (plan.isShareable() && !statics) {
+        value = extensionContext.getStore(NAMESPACE)
+            .getOrComputeIfAbsent(field, key -> resolveInstrumented(plan, field, extensionContext));
+      } else {
+        value = resolveInstrumented(plan, field, extensionContext);
+      }
+      try {
+        field.setAccessible(true);
+        field.set(testInstance, value);
+      } catch (IllegalAccessException e) {
+        throw new ExtensionConfigurationException(String.format("The field '%s' could not be injected.", field), e);
+      }
     }
   }
 
   @Override
   public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
       throws ParameterResolutionException {
+    return plan(parameterContext, extensionContext).isSupported();
+  }
 
-    Parameter parameter = parameterContext.getParameter();
-    Class<?> type = parameter.getType();
-
-    //Something like @ResourceRead("sub/anton.txt") Type<A,B> resource) will not work!
-    if (type.getTypeParameters().length > 1) {
-      return false;
-    }
+  @Override
+  public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+      throws ParameterResolutionException {
+    return resolveInstrumented(plan(parameterContext, extensionContext), parameterContext.getParameter(),
+        extensionContext);
+  }
 
-    if (type.getTypeParameters().length == 1) {
-      Type parameterizedType = parameter.getParameterizedType();
-      Type actualTypeArgument = ((ParameterizedType) parameterizedType).getActualTypeArguments()[0];
-      if (actualTypeArgument.equals(String.class) && isListOrStream(type)) {
-        return true;
-      }
+  /**
+   * @param injectionPoint The {@link Parameter} or {@link Field} to resolve.
+   */
+  private Object resolveInstrumented(ResolutionPlan plan, Object injectionPoint, ExtensionContext extensionContext) {
+    ResourceMetrics metrics = resourceMetrics(extensionContext);
+    Object event = metrics.startEvent();
+    if (plan.getResourceRead() == null || (!metrics.isEnabled() && event == null)) {
+      return resolve(plan, injectionPoint, extensionContext);
     }
 
-    boolean parameterTypes = Stream.of(ParameterType.values())
-        .anyMatch(parameterType -> parameterType.getKlass() == parameterContext.getParameter().getType());
-    if (parameterTypes) {
-      return true;
+    IoProbe probe = IoProbe.start();
+    long start = System.nanoTime();
+    try {
+      return resolve(plan, injectionPoint, extensionContext);
+    } finally {
+      long resolutionNanos = System.nanoTime() - start;
+      probe.stop();
+      ResourceResolution.Mode mode = probe.getMode() != null ? probe.getMode() : mode(plan.getKind());
+      metrics.record(extensionContext, new ResourceResolution(String.join(", ", plan.getResourceRead().value()), mode,
+          probe.getBytesRead(), probe.getDecodeNanos(), resolutionNanos), event);
     }
+  }
 
-    if (isString(type) && hasResourceReadAnnotation(parameter)) {
-      return true;
+  private Object resolve(ResolutionPlan plan, Object injectionPoint, ExtensionContext extensionContext) {
+    ClassLoader classLoader = extensionContext.getRequiredTestClass().getClassLoader();
+    ResourceRead annotation = plan.getResourceRead();
+
+    switch (plan.getKind()) {
+      case RESOURCE_PATH:
+        return new ResourcePath(classLoader, handles(extensionContext));
+      case RESOURCE_FILE:
+        return new ResourceFile(classLoader);
+      case RESOURCE_GOLDEN:
+        return new ResourceGolden(new ResourcePath(classLoader, handles(extensionContext)),
+            extensionContext.getConfigurationParameter(ResourceGolden.UPDATE_PROPERTY).map(Boolean::parseBoolean)
+                .orElse(false),
+            Paths.get(extensionContext.getConfigurationParameter(ResourceGolden.DIRECTORY_PROPERTY)
+                .orElse(ResourceGolden.DEFAULT_DIRECTORY)));
+      case RESOURCE_COPY_PATH:
+        return copy(extensionContext, classLoader, plan.getResourceCopy());
+      case RESOURCE_COPY_FILE:
+        return copy(extensionContext, classLoader, plan.getResourceCopy()).toFile();
+      case RESOURCE_CONTENT_STRING:
+        Supplier<CachedResource> content = deferred(extensionContext, classLoader, required(annotation));
+        return new ResourceContentString(measured(extensionContext, annotation, () -> content.get().asString()));
+      case RESOURCE_CONTENT_LINES:
+        Supplier<CachedResource> lines = deferred(extensionContext, classLoader, required(annotation));
+        // A copy, because the lines of the cache are shared and callers are free to modify the list.
+        return new ResourceContentLines(measured(extensionContext, annotation,
+            () -> new ArrayList<>(lines.get().asLines())));
+      case RESOURCE_LINE_INDEX:
+        ResourceLineIndex lineIndex = loader(extensionContext, classLoader, required(annotation)).asLineIndex();
+        handles(extensionContext).register(lineIndex::release);
+        return lineIndex;
+      case INT_COLUMN:
+        return loader(extensionContext, classLoader, annotation)
+            .asColumn(ColumnReader.Type.INT, plan.getResourceColumn());
+      case LONG_COLUMN:
+        return loader(extensionContext, classLoader, annotation)
+            .asColumn(ColumnReader.Type.LONG, plan.getResourceColumn());
+      case DOUBLE_COLUMN:
+        return loader(extensionContext, classLoader, annotation)
+            .asColumn(ColumnReader.Type.DOUBLE, plan.getResourceColumn());
+      case RESOURCE_TABLE:
+        return loader(extensionContext, classLoader, required(annotation)).asTable(plan.getResourceColumn());
+      case INT_ARRAY:
+        return array(extensionContext, classLoader, annotation, BinaryContent.Type.INT);
+      case LONG_ARRAY:
+        return array(extensionContext, classLoader, annotation, BinaryContent.Type.LONG);
+      case FLOAT_ARRAY:
+        return array(extensionContext, classLoader, annotation, BinaryContent.Type.FLOAT);
+      case DOUBLE_ARRAY:
+        return array(extensionContext, classLoader, annotation, BinaryContent.Type.DOUBLE);
+      case INT_BUFFER:
+        return buffer(extensionContext, classLoader, annotation, BinaryContent.Type.INT);
+      case LONG_BUFFER:
+        return buffer(extensionContext, classLoader, annotation, BinaryContent.Type.LONG);
+      case FLOAT_BUFFER:
+        return buffer(extensionContext, classLoader, annotation, BinaryContent.Type.FLOAT);
+      case DOUBLE_BUFFER:
+        return buffer(extensionContext, classLoader, annotation, BinaryContent.Type.DOUBLE);
+      case STRING:
+        return resource(extensionContext, classLoader, annotation).asString();
+      case BYTES:
+        return resource(extensionContext, classLoader, annotation).asBytes();
+      case LIST_OF_LINES:
+        return new ArrayList<>(resource(extensionContext, classLoader, annotation).asLines());
+      case MAP_OF_BYTES:
+        return resources(extensionContext, classLoader, annotation, CachedResource::asBytes);
+      case MAP_OF_STRINGS:
+        return resources(extensionContext, classLoader, annotation, CachedResource::asString);
+      case MAP_OF_PATHS:
+        ResourcePath resourcePath = new ResourcePath(classLoader);
+        Map<String, Path> paths = new LinkedHashMap<>();
+        for (String name : resourceNames(classLoader, annotation)) {
+          paths.put(name, resourcePath.get(name));
+        }
+        return paths;
+      case LIST_OF_PATHS:
+        return new ResourcePath(classLoader).glob(ResolutionPlan.resourceName(annotation));
+      case STREAM_OF_LINES:
+        return handles(extensionContext).register(loader(extensionContext, classLoader, annotation).asStream());
+      case STREAM_OF_CHUNKS:
+        return handles(extensionContext).register(chunks(extensionContext, classLoader, annotation).stream());
+      case ITERABLE_OF_CHUNKS:
+        return chunks(extensionContext, classLoader, annotation);
+      case INPUT_STREAM:
+        return handles(extensionContext).register(loader(extensionContext, classLoader, annotation).asInputStream());
+      case READER:
+        return handles(extensionContext).register(loader(extensionContext, classLoader, annotation).asReader());
+      case CHANNEL:
+        return handles(extensionContext).register(loader(extensionContext, classLoader, annotation).asChannel());
+      case MAPPED_BYTE_BUFFER:
+        return map(extensionContext, loader(extensionContext, classLoader, annotation));
+      case BYTE_BUFFER:
+        ResourceLoader loader = loader(extensionContext, classLoader, annotation);
+        if (loader.readStrategy() == ReadStrategy.MAPPED) {
+          return map(extensionContext, loader);
+        }
+        return resource(extensionContext, classLoader, annotation).asByteBuffer();
+      default:
+        throw new ParameterResolutionException(
+            String.format("The parameter '%s' is not supported.", injectionPoint));
     }
+  }
 
-    return false;
+  /**
+   * The plans are located in the store of the root context, so every parameter is
+   * inspected only once per run regardless of how often the test is executed.
+   */
+  private ResolutionPlan plan(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    return plan(parameterContext.getParameter(), extensionContext);
   }
 
-  @Override
-  public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
-      throws ParameterResolutionException {
+  private ResolutionPlan plan(Parameter parameter, ExtensionContext extensionContext) {
+    return plans(extensionContext).computeIfAbsent(parameter, key -> ResolutionPlan.of(parameter));
+  }
 
-    ClassLoader classLoader = extensionContext.getRequiredTestInstance().getClass().getClassLoader();
+  private ResolutionPlan plan(Field field, ExtensionContext extensionContext) {
+    return plans(extensionContext).computeIfAbsent(field, key -> ResolutionPlan.of(field));
+  }
 
-    Class<?> type = parameterContext.getParameter().getType();
+  @SuppressWarnings("unchecked")
+  private Map<Object, ResolutionPlan> plans(ExtensionContext extensionContext) {
+    return extensionContext.getRoot().getStore(NAMESPACE)
+        .getOrComputeIfAbsent(ResolutionPlan.class, key -> new ConcurrentHashMap<Object, ResolutionPlan>(), Map.class);
+  }
 
-    ResourceRead annotation = parameterContext.getParameter().getAnnotation(ResourceRead.class);
+  /**
+   * @return The {@link TestResources} of the test class or one of its enclosing classes.
+   */
+  private Optional<TestResources> testResources(Class<?> testClass) {
+    for (Class<?> current = testClass; current != null; current = current.getEnclosingClass()) {
+      Optional<TestResources> annotation = AnnotationSupport.findAnnotation(current, TestResources.class);
+      if (annotation.isPresent()) {
+        return annotation;
+      }
+    }
+    return Optional.empty();
+  }
 
-    if (isString(type) && type.getTypeParameters().length == 0 && hasResourceReadAnnotation(
-        parameterContext.getParameter())) {
-      return new ResourceLoader(classLoader, annotation.value(), annotation.encoding()).asString();
+  private ResourceRead required(ResourceRead annotation) {
+    // @ResourceRead("sub/anton.txt") must be present! either as annotation on the method
+    // or as annotation on the method parameter.
+    if (annotation == null) {
+      throw new IllegalStateException("@ResourceRead not given on method nor on method parameter.");
     }
+    return annotation;
+  }
+
+  private ResourceLoader loader(ExtensionContext extensionContext, ClassLoader classLoader, ResourceRead annotation) {
+    return new ResourceLoader(classLoader, ResolutionPlan.resourceName(annotation), annotation.encoding(),
+        readConfiguration(extensionContext), annotation.decompress());
+  }
 
-    if (type.getTypeParameters().length == 1 && hasResourceReadAnnotation(parameterContext.getParameter())) {
+  /**
+   * @return The mode of all kinds which are neither taken from the {@link ResourceCache} nor mapped.
+   */
+  private ResourceResolution.Mode mode(ResolutionPlan.Kind kind) {
+    switch (kind) {
+      case STREAM_OF_LINES:
+      case STREAM_OF_CHUNKS:
+      case ITERABLE_OF_CHUNKS:
+      case INPUT_STREAM:
+      case READER:
+      case CHANNEL:
+      case INT_COLUMN:
+      case LONG_COLUMN:
+      case DOUBLE_COLUMN:
+        return ResourceResolution.Mode.STREAMED;
+      case RESOURCE_LINE_INDEX:
+        return ResourceResolution.Mode.INDEXED;
+      case LIST_OF_PATHS:
+        return ResourceResolution.Mode.GLOB;
+      case RESOURCE_CONTENT_STRING:
+      case RESOURCE_CONTENT_LINES:
+        return ResourceResolution.Mode.DEFERRED;
+      default:
+        return ResourceResolution.Mode.CACHE_MISS;
+    }
+  }
 
-      Type parameterizedType = parameterContext.getParameter().getParameterizedType();
-      Type[] actualTypeArguments = ((ParameterizedType) parameterizedType).getActualTypeArguments();
+  private MappedByteBuffer map(ExtensionContext extensionContext, ResourceLoader loader) {
+    IoProbe.mode(ResourceResolution.Mode.MAPPED);
+    MappedByteBuffer buffer = loader.asMappedBuffer();
+    handles(extensionContext).register(() -> MappedBuffers.unmap(buffer));
+    return buffer;
+  }
 
-      if (actualTypeArguments[0].equals(String.class)) {
-        if (isList(type)) {
-          return new ResourceLoader(classLoader, annotation.value(), annotation.encoding()).asList();
-        }
-        if (isStream(type)) {
-          return new ResourceLoader(classLoader, annotation.value(), annotation.encoding()).asStream();
-        }
+  /**
+   * Large resources are mapped only while they are copied into the array, so they are
+   * not held in the {@link ResourceCache} in addition to the array.
+   */
+  private Object array(ExtensionContext extensionContext, ClassLoader classLoader, ResourceRead annotation,
+      BinaryContent.Type type) {
+    ResourceLoader loader = loader(extensionContext, classLoader, annotation);
+    if (loader.readStrategy() == ReadStrategy.MAPPED) {
+      IoProbe.mode(ResourceResolution.Mode.MAPPED);
+      MappedByteBuffer buffer = loader.asMappedBuffer();
+      try {
+        return BinaryContent.toArray(buffer, type, annotation.byteOrder().toByteOrder(), ResolutionPlan.resourceName(annotation));
+      } finally {
+        MappedBuffers.unmap(buffer);
       }
     }
+    return BinaryContent.toArray(resource(extensionContext, classLoader, annotation).asByteBuffer(), type,
+        annotation.byteOrder().toByteOrder(), ResolutionPlan.resourceName(annotation));
+  }
 
-    if (isResourceContentLine(type) || isResourceContentString(type)) {
-      // @ResourceFileRead("sub/anton.txt") must be present! either as annotation on the method
-      // or as annotation on the method parameter.
-      Method requiredTestMethod = extensionContext.getRequiredTestMethod();
-      if (!requiredTestMethod.isAnnotationPresent(ResourceRead.class) && !hasResourceReadAnnotation(
-          parameterContext.getParameter())) {
-        throw new IllegalStateException("@ResourceRead not given on method nor on method parameter.");
-      }
+  /**
+   * @return A read-only view over a mapping of the resource or over its content in the {@link ResourceCache}
+   * if the resource can not be mapped.
+   */
+  private Buffer buffer(ExtensionContext extensionContext, ClassLoader classLoader, ResourceRead annotation,
+      BinaryContent.Type type) {
+    ResourceLoader loader = loader(extensionContext, classLoader, annotation);
+    ByteBuffer content = loader.isMappable() ? map(extensionContext, loader)
+        : resource(extensionContext, classLoader, annotation).asByteBuffer();
+    return BinaryContent.toBuffer(content, type, annotation.byteOrder().toByteOrder(), ResolutionPlan.resourceName(annotation));
+  }
 
-      ResourceRead annotationRead;
-      if (hasResourceReadAnnotation(parameterContext.getParameter())) {
-        annotationRead = parameterContext.getParameter().getAnnotation(ResourceRead.class);
-      } else {
-        annotationRead = requiredTestMethod.getAnnotation(ResourceRead.class);
-      }
+  /**
+   * All resources are read concurrently by the {@link ResourceExecutor}, so the time to resolve the parameter
+   * is the time to read the largest resource instead of the sum of all of them.
+   *
+   * @return The content of the resources by their names in the order the names are given.
+   */
+  private <T> Map<String, T> resources(ExtensionContext extensionContext, ClassLoader classLoader,
+      ResourceRead annotation, Function<CachedResource, T> content) {
+    ResourceCache cache = resourceCache(extensionContext);
+    ResourceExecutor executor = resourceExecutor(extensionContext);
+    // The reads are done by other threads, so they are added to the probe of this resolution explicitly.
+    IoProbe probe = IoProbe.current();
+    Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+    for (String name : resourceNames(classLoader, annotation)) {
+      Supplier<T> read = () -> content.apply(cache.get(classLoader, name, annotation.encoding(),
+          annotation.decompress()));
+      futures.put(name, executor.submit(probe != null ? () -> probe.attached(read) : read));
+    }
+    Map<String, T> result = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<T>> entry : futures.entrySet()) {
+      result.put(entry.getKey(), ResourceExecutor.join(entry.getValue()));
+    }
+    return result;
+  }
 
-      if (isResourceContentLine(type) || type.isAnnotationPresent(ResourceRead.class)) {
-        List<String> strings = new ResourceLoader(classLoader, annotationRead.value(),
-            annotationRead.encoding()).asList();
-        return new ResourceContentLines(strings);
+  /**
+   * @return The given names where glob patterns and prefixes (ending with {@code /}) are replaced by
+   * the names of the matching resources.
+   */
+  private Set<String> resourceNames(ClassLoader classLoader, ResourceRead annotation) {
+    Set<String> names = new LinkedHashSet<>();
+    for (String name : annotation.value()) {
+      if (name.endsWith("/")) {
+        names.addAll(ResourceIndex.of(classLoader).find(name + "**"));
+      } else if (ResourceIndex.isPattern(name)) {
+        names.addAll(ResourceIndex.of(classLoader).find(name));
       } else {
-        String strings = new ResourceLoader(classLoader, annotationRead.value(), annotationRead.encoding()).asString();
-        return new ResourceContentString(strings);
+        names.add(name);
       }
     }
+    return names;
+  }
 
-    if (isResourceFile(type)) {
-      return new ResourceFile(classLoader);
-    }
-    if (isResourcePath(type)) {
-      return new ResourcePath(classLoader);
+  /**
+   * The existence of the resource is checked immediately, the channels are opened for every iteration.
+   */
+  private ResourceChunks chunks(ExtensionContext extensionContext, ClassLoader classLoader, ResourceRead annotation) {
+    ResourceLoader loader = loader(extensionContext, classLoader, annotation);
+    loader.asPath();
+    return handles(extensionContext).register(new ResourceChunks(loader::asChannel, annotation.chunkSize()));
+  }
+
+  /**
+   * The copies are located in the store of the current context, so they are deleted
+   * as soon as the test (or the test class for constructor parameters) has finished.
+   * They are created next to the classpath root of the resource to be able to link them.
+   */
+  private Path copy(ExtensionContext extensionContext, ClassLoader classLoader, ResourceCopy resourceCopy) {
+    Path source = new ResourcePath(classLoader).get(resourceCopy.value());
+    ResourceCopies copies = extensionContext.getStore(NAMESPACE)
+        .getOrComputeIfAbsent(ResourceCopies.class, key -> new ResourceCopies(), ResourceCopies.class);
+    try {
+      return copies.copy(source, ResourceCopies.location(source, resourceCopy.value()), resourceCopy.writable());
+    } catch (IOException e) {
+      throw new ParameterResolutionException(
+          String.format("The resource '%s' could not be copied.", resourceCopy.value()), e);
     }
-    return null;
   }
 
-  private boolean hasResourceReadAnnotation(Parameter parameter) {
-    return parameter.isAnnotationPresent(ResourceRead.class);
+  /**
+   * The handles are located in the store of the current context, so they are released
+   * as soon as the test (or the test class for constructor parameters) has finished.
+   */
+  private ResourceHandles handles(ExtensionContext extensionContext) {
+    return extensionContext.getStore(NAMESPACE)
+        .getOrComputeIfAbsent(ResourceHandles.class, key -> new ResourceHandles(), ResourceHandles.class);
   }
 
-  private boolean isList(Class<?> type) {
-    return type.equals(List.class);
+  private CachedResource resource(ExtensionContext extensionContext, ClassLoader classLoader, ResourceRead annotation) {
+    return resource(prefetch(extensionContext), resourceCache(extensionContext), classLoader, annotation);
   }
 
-  private boolean isStream(Class<?> type) {
-    return type.equals(Stream.class);
+  /**
+   * Only checks that the resource exists, which is a cached lookup. The returned supplier reads the
+   * resource and only refers to the prefetch and the cache, not to the context.
+   */
+  private Supplier<CachedResource> deferred(ExtensionContext extensionContext, ClassLoader classLoader,
+      ResourceRead annotation) {
+    String name = ResolutionPlan.resourceName(annotation);
+    if (!ResourceLocator.find(classLoader, name).isPresent()) {
+      throw new ResourceNotFoundException(String.format("The resource '%s' could not be found.", name));
+    }
+    ResourcePrefetch prefetch = prefetch(extensionContext);
+    ResourceCache cache = resourceCache(extensionContext);
+    return () -> resource(prefetch, cache, classLoader, annotation);
   }
 
-  private boolean isListOrStream(Class<?> type) {
-    return isList(type) || isStream(type);
+  /**
+   * @return The given read which is recorded by the {@link ResourceMetrics} when it is executed,
+   * if instrumentation is enabled or Flight Recorder is available.
+   */
+  private <T> Supplier<T> measured(ExtensionContext extensionContext, ResourceRead annotation, Supplier<T> read) {
+    ResourceMetrics metrics = resourceMetrics(extensionContext);
+    if (!metrics.isEnabled() && !ResourceMetrics.isFlightRecorderAvailable()) {
+      return read;
+    }
+    String resource = ResolutionPlan.resourceName(annotation);
+    return () -> metrics.measure(extensionContext, resource, read);
+  }
+
+  private static CachedResource resource(ResourcePrefetch prefetch, ResourceCache cache, ClassLoader classLoader,
+      ResourceRead annotation) {
+    if (prefetch != null) {
+      CachedResource prefetched = prefetch.get(annotation);
+      if (prefetched != null) {
+        IoProbe.mode(ResourceResolution.Mode.PREFETCHED);
+        return prefetched;
+      }
+    }
+    return cache.get(classLoader, ResolutionPlan.resourceName(annotation), annotation.encoding(),
+        annotation.decompress());
   }
 
-  private boolean isString(Type type) {
-    return type.equals(String.class);
+  private ResourcePrefetch prefetch(ExtensionContext extensionContext) {
+    return extensionContext.getStore(NAMESPACE).get(ResourcePrefetch.class, ResourcePrefetch.class);
   }
 
-  private boolean isResourceContentString(Class<?> type) {
-    return type.equals(ResourceContentString.class);
+  private ResourceExecutor resourceExecutor(ExtensionContext extensionContext) {
+    ExtensionContext root = extensionContext.getRoot();
+    return root.getStore(NAMESPACE).getOrComputeIfAbsent(ResourceExecutor.class,
+        key -> new ResourceExecutor(root.getConfigurationParameter(ResourceExecutor.PARALLELISM_PROPERTY)
+            .map(Integer::parseInt)
+            .orElse(ResourceExecutor.DEFAULT_PARALLELISM)), ResourceExecutor.class);
   }
 
-  private boolean isResourceContentLine(Class<?> type) {
-    return type.equals(ResourceContentLines.class);
+  private ResourceMetrics resourceMetrics(ExtensionContext extensionContext) {
+    ExtensionContext root = extensionContext.getRoot();
+    return root.getStore(NAMESPACE).getOrComputeIfAbsent(ResourceMetrics.class,
+        key -> new ResourceMetrics(
+            root.getConfigurationParameter(ResourceMetrics.ENABLED_PROPERTY).map(Boolean::parseBoolean).orElse(false),
+            root.getConfigurationParameter(ResourceMetrics.TOP_PROPERTY)
+                .map(Integer::parseInt)
+                .orElse(ResourceMetrics.DEFAULT_TOP)), ResourceMetrics.class);
   }
 
-  private boolean isResourcePath(Class<?> type) {
-    return type.equals(ResourcePath.class);
+  /**
+   * The cache is located in the store of the root context so it is shared by all tests of a run.
+   */
+  static ResourceCache resourceCache(ExtensionContext extensionContext) {
+    ExtensionContext root = extensionContext.getRoot();
+    return root.getStore(NAMESPACE).getOrComputeIfAbsent(ResourceCache.class,
+        key -> new ResourceCache(root.getConfigurationParameter(ResourceCache.MAX_BYTES_PROPERTY)
+            .map(Long::parseLong)
+            .orElse(ResourceCache.DEFAULT_MAX_BYTES), readConfiguration(root)), ResourceCache.class);
   }
 
-  private boolean isResourceFile(Class<?> type) {
-    return type.equals(ResourceFile.class);
+  /**
+   * The configuration is located in the store of the root context, so the configuration parameters
+   * are parsed only once per run.
+   */
+  static ReadConfiguration readConfiguration(ExtensionContext extensionContext) {
+    ExtensionContext root = extensionContext.getRoot();
+    return root.getStore(NAMESPACE).getOrComputeIfAbsent(ReadConfiguration.class,
+        key -> ReadConfiguration.of(root::getConfigurationParameter), ReadConfiguration.class);
   }
 }
@@ -41,4 +41,12 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
  */
 public @interface TestResources {
 
+  /**
+   * @return {@code true} to read all resources declared via {@link ResourceRead} on the test methods
+   * of the class concurrently before the first test is executed. The tests will then only wait for
+   * reading of the resources which have not been finished yet.
+   */
+  @API(status = EXPERIMENTAL, since = "0.2.1")
+  boolean prefetch() default false;
+
 }
@@ -0,0 +1,138 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ArchiveResourceTest {
+
+  @TempDir
+  static Path archives;
+
+  private static ClassLoader jarClassLoader;
+
+  @BeforeAll
+  static void createArchive() throws IOException {
+    Path jar = archives.resolve("fixtures.jar");
+    try (OutputStream out = Files.newOutputStream(jar)) {
+      out.write(zip("archived/first.txt", "First line\nSecond line".getBytes(UTF_8)));
+    }
+    jarClassLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+  }
+
+  @Test
+  void path_of_resource_in_jar() throws IOException {
+    Path path = new ResourcePath(jarClassLoader).get("archived/first.txt");
+
+    assertThat(path.toUri().getScheme()).isEqualTo("jar");
+    assertThat(Files.readAllLines(path)).containsExactly("First line", "Second line");
+  }
+
+  @Test
+  void copy_of_resource_in_jar() throws IOException {
+    ResourceCopies copies = new ResourceCopies();
+    try {
+      Path copy = copies.copy(new ResourcePath(jarClassLoader).get("archived/first.txt"), false);
+
+      assertThat(copy.toUri().getScheme()).isEqualTo("file");
+      assertThat(Files.readAllLines(copy)).containsExactly("First line", "Second line");
+    } finally {
+      copies.close();
+    }
+  }
+
+  @Test
+  void archive_is_mounted_only_once() {
+    ResourcePath resourcePath = new ResourcePath(jarClassLoader);
+
+    Path first = resourcePath.get("archived/first.txt");
+    Path second = resourcePath.get("archived/first.txt");
+
+    assertThat(second.getFileSystem()).isSameAs(first.getFileSystem());
+  }
+
+  @Test
+  void read_lines_of_resource_in_jar() {
+    assertThat(new ResourcePath(jarClassLoader).readAllLines("archived/first.txt"))
+        .containsExactly("First line", "Second line");
+  }
+
+  @Test
+  void resource_in_nested_jar() throws IOException {
+    Path outer = archives.resolve("outer.jar");
+    try (OutputStream out = Files.newOutputStream(outer)) {
+      out.write(zip("lib/inner.jar", zip("inner.txt", "Inner".getBytes(UTF_8))));
+    }
+
+    Path path = ArchiveFileSystems.toPath(new URL("jar:" + outer.toUri() + "!/lib/inner.jar!/inner.txt"));
+
+    assertThat(Files.readAllLines(path)).containsExactly("Inner");
+  }
+
+  @Test
+  void nested_jar_can_be_mounted_from_an_extracted_copy() throws IOException {
+    Path outer = archives.resolve("extracted.jar");
+    try (OutputStream out = Files.newOutputStream(outer)) {
+      out.write(zip("lib/inner.jar", zip("inner.txt", "Inner".getBytes(UTF_8))));
+    }
+    Path nested = ArchiveFileSystems.toPath(new URL("jar:" + outer.toUri() + "!/lib/inner.jar"));
+
+    try (FileSystem fileSystem = ArchiveFileSystems.mountExtracted(nested)) {
+      assertThat(Files.readAllLines(fileSystem.getPath("inner.txt"))).containsExactly("Inner");
+    }
+  }
+
+  @Test
+  void resource_file_in_jar_is_rejected() {
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> new ResourceFile(jarClassLoader).get("archived/first.txt"))
+        .withMessage("The resource 'archived/first.txt' is located inside of an archive, use ResourcePath instead.");
+  }
+
+  private static byte[] zip(String name, byte[] content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+      zip.putNextEntry(new ZipEntry(name));
+      zip.write(content);
+      zip.closeEntry();
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,106 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class BinaryContentTest {
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void int_array_in_little_endian(
+        @ResourceRead(value = "binary/ints-le.bin", byteOrder = ResourceByteOrder.LITTLE_ENDIAN) int[] values) {
+      assertThat(values).containsExactly(1, -2, 0x01020304);
+    }
+
+    @Test
+    void int_array_in_big_endian_by_default(@ResourceRead("binary/ints-le.bin") int[] values) {
+      assertThat(values).containsExactly(0x01000000, 0xfeffffff, 0x04030201);
+    }
+
+    @Test
+    void double_array(@ResourceRead("binary/values-be.bin") double[] values,
+        @ResourceRead("binary/values-be.bin") long[] longs) {
+      assertThat(values).containsExactly(1.5, -0.25);
+      assertThat(longs).containsExactly(Double.doubleToLongBits(1.5), Double.doubleToLongBits(-0.25));
+    }
+
+    @Test
+    void buffers_are_read_only_views(
+        @ResourceRead(value = "binary/ints-le.bin", byteOrder = ResourceByteOrder.LITTLE_ENDIAN) IntBuffer ints,
+        @ResourceRead("binary/values-be.bin") DoubleBuffer doubles) {
+      assertThat(ints.isReadOnly()).isTrue();
+      assertThat(ints.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+      assertThat(ints.remaining()).isEqualTo(3);
+      assertThat(ints.get(2)).isEqualTo(0x01020304);
+      assertThat(doubles.isReadOnly()).isTrue();
+      assertThat(doubles.get(0)).isEqualTo(1.5);
+    }
+
+    @Test
+    void compressed_resource_is_not_mapped(@ResourceRead("binary/values-be.bin.gz") DoubleBuffer doubles,
+        @ResourceRead("binary/values-be.bin.gz") FloatBuffer floats,
+        @ResourceRead("binary/values-be.bin.gz") LongBuffer longs) {
+      assertThat(doubles.isDirect()).isFalse();
+      assertThat(doubles.get(1)).isEqualTo(-0.25);
+      assertThat(floats.remaining()).isEqualTo(4);
+      assertThat(longs.get(0)).isEqualTo(Double.doubleToLongBits(1.5));
+    }
+  }
+
+  @Test
+  void size_must_be_a_multiple_of_the_element_size() {
+    ByteBuffer content = ByteBuffer.wrap(new byte[] {1, 2, 3});
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BinaryContent.toArray(content, BinaryContent.Type.INT, ByteOrder.BIG_ENDIAN, "odd.bin"))
+        .withMessage("The size of the resource 'odd.bin' (3 bytes) is not a multiple of the size of a int (4 bytes).");
+  }
+
+  @Test
+  void content_is_not_modified() {
+    ByteBuffer content = ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0, 0, 0, 2});
+    ((Buffer) content).position(4);
+
+    float[] values = (float[]) BinaryContent.toArray(content, BinaryContent.Type.FLOAT, ByteOrder.LITTLE_ENDIAN, "");
+
+    assertThat(values).containsExactly(Float.intBitsToFloat(0x02000000));
+    assertThat(content.position()).isEqualTo(4);
+    assertThat(content.order()).isEqualTo(ByteOrder.BIG_ENDIAN);
+  }
+}
@@ -0,0 +1,108 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources
+class CompressedResourceTest {
+
+  private static final String CONTENT = "Compressed line 1\nCompressed line 2\n";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"compressed/lines.txt.gz", "compressed/lines.txt.zip", "compressed/lines.txt.deflate",
+      "compressed/raw.txt.deflate", "compressed/gzip-without-extension.bin"})
+  void decompressed_lines(String name, ResourcePath resourcePath) {
+    assertThat(resourcePath.readAllLines(name)).containsExactly("Compressed line 1", "Compressed line 2");
+    assertThat(resourcePath.readAllBytes(name)).isEqualTo(CONTENT.getBytes(UTF_8));
+  }
+
+  @Test
+  void decompressed_string(@ResourceRead("compressed/lines.txt.gz") String content) {
+    assertThat(content).isEqualTo(CONTENT);
+  }
+
+  @Test
+  void decompressed_stream(@ResourceRead("compressed/lines.txt.zip") Stream<String> lines) {
+    assertThat(lines).containsExactly("Compressed line 1", "Compressed line 2");
+  }
+
+  @Test
+  void decompressed_content_lines(@ResourceRead("compressed/lines.txt.deflate") ResourceContentLines lines) {
+    assertThat(lines.getContent()).containsExactly("Compressed line 1", "Compressed line 2");
+  }
+
+  @Test
+  void decompressed_input_stream(@ResourceRead("compressed/lines.txt.gz") InputStream content) throws IOException {
+    assertThat(content).hasContent(CONTENT);
+  }
+
+  @Test
+  void decompressed_byte_buffer(@ResourceRead("compressed/lines.txt.gz") ByteBuffer content) {
+    assertThat(UTF_8.decode(content).toString()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  void compressed_resource_as_stored(@ResourceRead(value = "compressed/lines.txt.gz", decompress = false) byte[] raw,
+      @ResourceRead(value = "compressed/lines.txt.gz", decompress = false) InputStream rawStream,
+      @ResourceRead("compressed/lines.txt.gz") byte[] decompressed, ResourcePath resourcePath) throws IOException {
+    byte[] stored = Files.readAllBytes(resourcePath.get("compressed/lines.txt.gz"));
+
+    assertThat(raw).isEqualTo(stored).startsWith((byte) 0x1f, (byte) 0x8b);
+    assertThat(rawStream).hasBinaryContent(stored);
+    assertThat(decompressed).isEqualTo(CONTENT.getBytes(UTF_8));
+  }
+
+  @Test
+  void compressed_resource_path_as_stored(ResourcePath resourcePath) throws IOException {
+    byte[] stored = Files.readAllBytes(resourcePath.get("compressed/lines.txt.gz"));
+
+    assertThat(resourcePath.asStored().readAllBytes("compressed/lines.txt.gz")).isEqualTo(stored);
+    assertThat(resourcePath.readAllBytes("compressed/lines.txt.gz")).isEqualTo(CONTENT.getBytes(UTF_8));
+  }
+
+  @Test
+  void compressed_resource_can_not_be_mapped(ResourcePath resourcePath) {
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> resourcePath.map("compressed/lines.txt.gz"))
+        .withMessage("The resource 'compressed/lines.txt.gz' is compressed and can not be mapped.");
+  }
+
+  @Test
+  void uncompressed_resource_is_unchanged(@ResourceRead("sub/anton.txt") List<String> lines) {
+    assertThat(lines).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+}
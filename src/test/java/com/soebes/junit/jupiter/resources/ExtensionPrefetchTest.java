@@ -0,0 +1,85 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources(prefetch = true)
+class ExtensionPrefetchTest {
+
+  @Test
+  @ResourceRead("sub/anton.txt")
+  void prefetched_from_method_annotation(ResourceContentLines resource) {
+    assertThat(resource.getContent()).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+
+  @Test
+  void prefetched_from_parameter_annotation(@ResourceRead("anton.txt") String resource) {
+    assertThat(resource).isEqualTo("This is anton.txt");
+  }
+
+  @Test
+  void prefetched_with_encoding(@ResourceRead(value = "sub/anton.txt", encoding = "ISO-8859-1") List<String> resource) {
+    assertThat(resource).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+
+  @Test
+  void prefetched_resource_is_handed_over_once(
+      @ResourceRead("corpus/first.txt") ResourceContentString ignored) throws Exception {
+    ResourceRead annotation = getClass()
+        .getDeclaredMethod("prefetched_resource_is_handed_over_once", ResourceContentString.class)
+        .getParameters()[0].getAnnotation(ResourceRead.class);
+    ResourceExecutor executor = new ResourceExecutor(2);
+    try {
+      ResourcePrefetch prefetch = new ResourcePrefetch(getClass().getClassLoader(),
+          new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES), executor);
+      prefetch.prefetch(annotation);
+
+      assertThat(prefetch.get(annotation).asString()).isEqualTo("First corpus entry");
+      assertThat(prefetch.get(annotation)).isNull();
+    } finally {
+      executor.close();
+    }
+  }
+
+  /**
+   * Not invoked by JUnit, so it must neither be prefetched nor fail the other tests of the class.
+   */
+  void helper(@ResourceRead({"anton.txt", "sub/anton.txt"}) String content) {
+    assertThat(content).isNotEmpty();
+  }
+
+  @Nested
+  class NestedTest {
+
+    @Test
+    void prefetched_in_nested_class(@ResourceRead("sub/file-in-sub.txt") ResourceContentString resource) {
+      assertThat(resource.getContent()).startsWith("File in Sub directory.");
+    }
+  }
+}
@@ -21,9 +21,17 @@ package com.soebes.junit.jupiter.resources;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -64,4 +72,51 @@ class ExtensionResourcesTest {
     assertThat(resource).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
   }
 
+  @Test
+  void resource_with_annotated_parameters(@ResourceRead("sub/anton.txt") byte[] resource) {
+    assertThat(resource).isEqualTo(("Anton.txt in sub. Line 1" + "\n" + "Anton.txt in sub. Line 2").getBytes(UTF_8));
+  }
+
+  @Test
+  void resource_with_encoding(@ResourceRead(value = "charset/text-with-umlaut.txt", encoding = "ISO-8859-1") String latin1,
+      @ResourceRead("charset/text-with-umlaut.txt") String utf8) {
+    assertThat(utf8).isEqualTo("Das ist ein Text mit \u00dc\u00d6\u00c4 \u00fc\u00f6\u00e4\u00df");
+    assertThat(latin1).isNotEqualTo(utf8).startsWith("Das ist ein Text mit ");
+  }
+
+  @Test
+  void resource_as_byte_buffer(@ResourceRead("anton.txt") ByteBuffer resource) {
+    assertThat(resource.isReadOnly()).isTrue();
+    assertThat(UTF_8.decode(resource).toString()).isEqualTo("This is anton.txt");
+  }
+
+  @Test
+  void resource_as_mapped_byte_buffer(@ResourceRead("anton.txt") MappedByteBuffer resource) {
+    assertThat(resource.isReadOnly()).isTrue();
+    assertThat(UTF_8.decode(resource).toString()).isEqualTo("This is anton.txt");
+  }
+
+  @Test
+  void resource_as_input_stream(@ResourceRead("anton.txt") InputStream resource) throws IOException {
+    assertThat(resource).hasContent("This is anton.txt");
+  }
+
+  @Test
+  void resource_as_reader(@ResourceRead("sub/anton.txt") Reader resource) throws IOException {
+    assertThat(new BufferedReader(resource).readLine()).isEqualTo("Anton.txt in sub. Line 1");
+  }
+
+  @Test
+  void resource_as_buffered_reader(@ResourceRead("sub/anton.txt") BufferedReader resource) {
+    assertThat(resource.lines()).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+
+  @Test
+  void resource_as_channel(@ResourceRead("anton.txt") ReadableByteChannel resource) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    resource.read(buffer);
+    buffer.flip();
+    assertThat(UTF_8.decode(buffer).toString()).isEqualTo("This is anton.txt");
+  }
+
 }
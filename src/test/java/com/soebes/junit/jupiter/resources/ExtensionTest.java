@@ -26,6 +26,8 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -57,6 +59,13 @@ class ExtensionTest {
       assertThat(lines).containsExactly("This is anton.txt");
     }
 
+    @Test
+    void resource_path_map(ResourcePath resource) {
+      MappedByteBuffer buffer = resource.map("anton.txt");
+      assertThat(buffer.isReadOnly()).isTrue();
+      assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("This is anton.txt");
+    }
+
     @Test
     void resource_does_not_exist(ResourcePath resource) {
       assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -0,0 +1,133 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources
+class FieldInjectionTest {
+
+  @ResourceRead("sub/anton.txt")
+  private static List<String> lines;
+
+  @ResourceCopy("sub")
+  private static Path directory;
+
+  private static final List<Object> PER_METHOD = new ArrayList<>();
+
+  private static final List<Object> PER_CLASS = new ArrayList<>();
+
+  private static final List<Object> STATICS = new ArrayList<>();
+
+  @Nested
+  @TestResources
+  class PerMethod {
+
+    @ResourceRead("sub/anton.txt")
+    private String content;
+
+    @ResourceRead("sub/anton.txt")
+    private ResourceContentLines lines;
+
+    @ResourceRead("sub/anton.txt")
+    private byte[] bytes;
+
+    @ResourceCopy("sub/anton.txt")
+    private Path copy;
+
+    @Test
+    void first() {
+      verify();
+    }
+
+    @Test
+    void second() {
+      verify();
+    }
+
+    private void verify() {
+      assertThat(content).isEqualTo("Anton.txt in sub. Line 1\nAnton.txt in sub. Line 2");
+      assertThat(lines.getContent()).hasSize(2);
+      assertThat(bytes).hasSize(content.length());
+      assertThat(copy).exists();
+      PER_METHOD.add(content);
+    }
+  }
+
+  @Nested
+  @TestResources
+  @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+  class PerClass {
+
+    @ResourceRead(value = "binary/ints-le.bin", byteOrder = ResourceByteOrder.LITTLE_ENDIAN)
+    private int[] values;
+
+    @Test
+    void first() {
+      assertThat(values).containsExactly(1, -2, 0x01020304);
+      PER_CLASS.add(values);
+    }
+
+    @Test
+    void second() {
+      assertThat(values).containsExactly(1, -2, 0x01020304);
+      PER_CLASS.add(values);
+    }
+  }
+
+  @Test
+  void static_fields_first() {
+    verifyStatics();
+  }
+
+  @Test
+  void static_fields_second() {
+    verifyStatics();
+  }
+
+  private static void verifyStatics() {
+    assertThat(lines).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+    assertThat(Files.isDirectory(directory)).isTrue();
+    STATICS.add(lines);
+  }
+
+  @AfterAll
+  static void values_are_loaded_once() {
+    assertThat(STATICS).hasSize(2);
+    assertThat(STATICS.get(0)).isSameAs(STATICS.get(1));
+    assertThat(PER_METHOD).hasSize(2);
+    assertThat(PER_METHOD.get(0)).isSameAs(PER_METHOD.get(1));
+    assertThat(PER_CLASS).hasSize(2);
+    assertThat(PER_CLASS.get(0)).isSameAs(PER_CLASS.get(1));
+  }
+}
@@ -0,0 +1,127 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class LineSpliteratorTest {
+
+  private static final String[] TERMINATORS = {"\n", "\r\n", "\r"};
+
+  @Test
+  void lines_like_buffered_reader(@TempDir Path directory) throws IOException {
+    String content = "first\nsecond\r\nthird\rfourth\n\n\r\nseventh \u00e4\u00f6\u00fc\r\n";
+
+    assertThat(lines(directory, content, LineSpliterator.MIN_SPLIT_SIZE, false)).isEqualTo(readLines(content));
+  }
+
+  @Test
+  void every_split_keeps_all_lines_in_order(@TempDir Path directory) throws IOException {
+    String content = randomContent(2_000);
+
+    // A minimal split size of one byte splits down to single lines.
+    assertThat(lines(directory, content, 1, true)).isEqualTo(readLines(content));
+  }
+
+  @Test
+  void split_divides_at_the_middle_and_realigns_to_the_next_line(@TempDir Path directory) throws IOException {
+    Path file = Files.write(directory.resolve("lines.txt"), "aaaa\nbbbb\r\ncccc\ndddd".getBytes(UTF_8));
+    try (MappedFile mapped = MappedFile.map(file)) {
+      LineSpliterator suffix = new LineSpliterator(mapped, UTF_8, 1, 0, mapped.size());
+
+      Spliterator<String> prefix = suffix.trySplit();
+
+      assertThat(StreamSupport.stream(prefix, false)).containsExactly("aaaa", "bbbb");
+      assertThat(StreamSupport.stream(suffix, false)).containsExactly("cccc", "dddd");
+    }
+  }
+
+  @Test
+  void single_line_is_not_split(@TempDir Path directory) throws IOException {
+    Path file = Files.write(directory.resolve("line.txt"), "only one line without terminator".getBytes(UTF_8));
+    try (MappedFile mapped = MappedFile.map(file)) {
+      assertThat(new LineSpliterator(mapped, UTF_8, 1, 0, mapped.size()).trySplit()).isNull();
+    }
+  }
+
+  @Test
+  void parallel_stream_of_large_resource(@TempDir Path directory) throws IOException {
+    String content = randomContent(200_000);
+    Files.write(directory.resolve("large.txt"), content.getBytes(UTF_8));
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, null);
+         Stream<String> lines = new ResourceLoader(classLoader, "large.txt", "UTF-8").asStream()) {
+      assertThat(lines.parallel().collect(Collectors.toList())).isEqualTo(readLines(content));
+    }
+  }
+
+  private static List<String> lines(Path directory, String content, long minSplitSize, boolean parallel)
+      throws IOException {
+    Path file = Files.write(directory.resolve("lines.txt"), content.getBytes(UTF_8));
+    try (MappedFile mapped = MappedFile.map(file)) {
+      return StreamSupport.stream(new LineSpliterator(mapped, UTF_8, minSplitSize, 0, mapped.size()), parallel)
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static String randomContent(int lines) {
+    Random random = new Random(42);
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      content.append("line ").append(i);
+      for (int length = random.nextInt(20); length > 0; length--) {
+        content.append((char) ('a' + random.nextInt(26)));
+      }
+      content.append(TERMINATORS[random.nextInt(TERMINATORS.length)]);
+    }
+    return content.toString();
+  }
+
+  private static List<String> readLines(String content) throws IOException {
+    List<String> result = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        result.add(line);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,169 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ReadConfigurationTest {
+
+  private static final String TEXT = "The quick brown fox \u00e4\u00f6\u00fc\u00df\r\njumps over the lazy dog \u20ac\n";
+
+  private final Path path = Paths.get("file.txt");
+
+  @Test
+  void strategy_is_selected_by_size() {
+    ReadConfiguration configuration = ReadConfiguration.DEFAULT;
+
+    assertThat(configuration.select(path, 0)).isEqualTo(ReadStrategy.HEAP);
+    assertThat(configuration.select(path, ReadConfiguration.DEFAULT_HEAP_THRESHOLD - 1)).isEqualTo(ReadStrategy.HEAP);
+    assertThat(configuration.select(path, ReadConfiguration.DEFAULT_HEAP_THRESHOLD)).isEqualTo(ReadStrategy.CHANNEL);
+    assertThat(configuration.select(path, MappedBuffers.MAPPING_THRESHOLD - 1)).isEqualTo(ReadStrategy.CHANNEL);
+    assertThat(configuration.select(path, MappedBuffers.MAPPING_THRESHOLD)).isEqualTo(ReadStrategy.MAPPED);
+  }
+
+  @Test
+  void thresholds_are_taken_from_the_configuration_parameters() {
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put(ReadConfiguration.HEAP_THRESHOLD_PROPERTY, "10");
+    parameters.put(ReadConfiguration.MAPPING_THRESHOLD_PROPERTY, " 100 ");
+    parameters.put(ReadConfiguration.BUFFER_SIZE_PROPERTY, "512");
+
+    ReadConfiguration configuration = ReadConfiguration.of(key -> Optional.ofNullable(parameters.get(key)));
+
+    assertThat(configuration.select(path, 9)).isEqualTo(ReadStrategy.HEAP);
+    assertThat(configuration.select(path, 10)).isEqualTo(ReadStrategy.CHANNEL);
+    assertThat(configuration.select(path, 100)).isEqualTo(ReadStrategy.MAPPED);
+    assertThat(configuration.getBufferSize()).isEqualTo(512);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"heap", "Channel", "MAPPED"})
+  void strategy_can_be_fixed_for_all_sizes(String value) {
+    ReadConfiguration configuration = ReadConfiguration.of(
+        key -> ReadConfiguration.STRATEGY_PROPERTY.equals(key) ? Optional.of(value) : Optional.empty());
+
+    ReadStrategy expected = ReadStrategy.valueOf(value.toUpperCase(Locale.ROOT));
+    assertThat(configuration.select(path, 0)).isEqualTo(expected);
+    assertThat(configuration.select(path, Long.MAX_VALUE)).isEqualTo(expected);
+  }
+
+  @Test
+  void files_inside_of_archives_are_not_mapped(@TempDir Path directory) throws IOException {
+    URI uri = URI.create("jar:" + directory.resolve("archive.zip").toUri());
+    try (FileSystem archive = FileSystems.newFileSystem(uri, Collections.singletonMap("create", "true"))) {
+      Path entry = archive.getPath("entry.txt");
+
+      assertThat(ReadConfiguration.DEFAULT.select(entry, Long.MAX_VALUE)).isEqualTo(ReadStrategy.CHANNEL);
+    }
+  }
+
+  @Test
+  void invalid_values_are_rejected() {
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> ReadConfiguration.of(
+            key -> ReadConfiguration.STRATEGY_PROPERTY.equals(key) ? Optional.of("fast") : Optional.empty()))
+        .withMessage("The configuration parameter 'resources-extension.read.strategy' has the invalid value 'fast'.");
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> ReadConfiguration.of(
+            key -> ReadConfiguration.BUFFER_SIZE_PROPERTY.equals(key) ? Optional.of("-1") : Optional.empty()))
+        .withMessage("The configuration parameter 'resources-extension.read.buffer-size' has the invalid value '-1'.");
+  }
+
+  @ParameterizedTest
+  @EnumSource(ReadStrategy.class)
+  void all_strategies_read_the_same_content(ReadStrategy strategy, @TempDir Path directory) throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      text.append(TEXT);
+    }
+    for (String name : new String[] {"UTF-8", "ISO-8859-1", "UTF-16"}) {
+      Charset charset = Charset.forName(name);
+      byte[] content = text.toString().getBytes(charset);
+      Path file = Files.write(directory.resolve(name + ".txt"), content);
+
+      // A buffer much smaller than the content to read it in chunks.
+      assertThat(strategy.readBytes(file, content.length, 7)).isEqualTo(content);
+      assertThat(strategy.readString(file, content.length, charset, 7)).isEqualTo(new String(content, charset));
+    }
+  }
+
+  @Test
+  void empty_files_are_read_by_all_strategies(@TempDir Path directory) throws IOException {
+    Path file = Files.createFile(directory.resolve("empty.txt"));
+
+    for (ReadStrategy strategy : ReadStrategy.values()) {
+      assertThat(strategy.readBytes(file, 0, 16)).isEmpty();
+      assertThat(strategy.readString(file, 0, Charset.forName("UTF-8"), 16)).isEmpty();
+    }
+  }
+
+  @Test
+  void files_of_2_gib_and_more_are_rejected_by_the_mapped_strategy(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("huge.bin");
+    try (RandomAccessFile sparse = new RandomAccessFile(file.toFile(), "rw")) {
+      sparse.setLength(Integer.MAX_VALUE + 1L);
+    }
+
+    assertThatIllegalStateException()
+        .isThrownBy(() -> ReadStrategy.MAPPED.readBytes(file, Integer.MAX_VALUE + 1L, 16))
+        .withMessageContaining("huge.bin")
+        .withMessageContaining("lines or chunks");
+  }
+
+  @Test
+  void loader_reads_with_the_configured_strategy() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ReadConfiguration mapped = new ReadConfiguration(ReadStrategy.MAPPED, 0, 0, 16, null);
+
+    ResourceLoader loader = new ResourceLoader(classLoader, "anton.txt", "UTF-8", mapped);
+
+    assertThat(loader.readStrategy()).isEqualTo(ReadStrategy.MAPPED);
+    assertThat(loader.asString()).isEqualTo(new ResourceLoader(classLoader, "anton.txt", "UTF-8").asString());
+    assertThat(new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8", mapped).readStrategy())
+        .isEqualTo(ReadStrategy.CHANNEL);
+  }
+}
@@ -0,0 +1,146 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResolutionPlanTest {
+
+  @SuppressWarnings("unused")
+  static class Samples {
+
+    @ResourceRead("method.txt")
+    void methodAnnotation(ResourceContentLines lines, ResourceContentString content) {
+    }
+
+    void parameterAnnotation(@ResourceRead("parameter.txt") ResourceContentLines lines,
+        @ResourceRead("parameter.txt") List<String> list, List<String> unannotated,
+        @ResourceRead("parameter.txt") Map<String, Integer> unsupported, ResourceContentString missing) {
+    }
+
+    void maps(@ResourceRead("a.txt") Map<String, byte[]> bytes, @ResourceRead("a.txt") Map<String, String> strings,
+        @ResourceRead({"a.txt", "b.txt"}) Map<String, Path> paths) {
+    }
+
+    void names(@ResourceRead({"a.txt", "b.txt"}) String several, @ResourceRead({}) byte[] none,
+        @ResourceRead({"a.txt", "b.txt"}) Map<String, String> map) {
+    }
+
+    @ResourceRead("field.txt")
+    private String field;
+
+    @ResourceRead("field.txt")
+    private Thread unsupportedField;
+  }
+
+  @Test
+  void method_annotation_is_used_as_fallback() throws NoSuchMethodException {
+    Parameter[] parameters = method("methodAnnotation").getParameters();
+
+    ResolutionPlan lines = ResolutionPlan.of(parameters[0]);
+    ResolutionPlan content = ResolutionPlan.of(parameters[1]);
+
+    assertThat(lines.getKind()).isEqualTo(ResolutionPlan.Kind.RESOURCE_CONTENT_LINES);
+    assertThat(lines.getResourceRead().value()).containsExactly("method.txt");
+    assertThat(content.getKind()).isEqualTo(ResolutionPlan.Kind.RESOURCE_CONTENT_STRING);
+  }
+
+  @Test
+  void single_resource_kinds_require_exactly_one_name() throws NoSuchMethodException {
+    Parameter[] parameters = method("names").getParameters();
+
+    assertThat(ResolutionPlan.of(parameters[0]).isSupported()).isFalse();
+    assertThat(ResolutionPlan.of(parameters[1]).isSupported()).isFalse();
+    assertThat(ResolutionPlan.of(parameters[2]).getKind()).isEqualTo(ResolutionPlan.Kind.MAP_OF_STRINGS);
+  }
+
+  @Test
+  void parameter_annotation_is_used() throws NoSuchMethodException {
+    Parameter[] parameters = method("parameterAnnotation").getParameters();
+
+    assertThat(ResolutionPlan.of(parameters[0]).getResourceRead().value()).containsExactly("parameter.txt");
+    assertThat(ResolutionPlan.of(parameters[1]).getKind()).isEqualTo(ResolutionPlan.Kind.LIST_OF_LINES);
+  }
+
+  @Test
+  void maps_of_resources() throws NoSuchMethodException {
+    Parameter[] parameters = method("maps").getParameters();
+
+    assertThat(ResolutionPlan.of(parameters[0]).getKind()).isEqualTo(ResolutionPlan.Kind.MAP_OF_BYTES);
+    assertThat(ResolutionPlan.of(parameters[1]).getKind()).isEqualTo(ResolutionPlan.Kind.MAP_OF_STRINGS);
+    assertThat(ResolutionPlan.of(parameters[2]).getKind()).isEqualTo(ResolutionPlan.Kind.MAP_OF_PATHS);
+    assertThat(ResolutionPlan.of(parameters[2]).getResourceRead().value()).containsExactly("a.txt", "b.txt");
+  }
+
+  @Test
+  void single_resource_name_is_required() throws NoSuchMethodException {
+    ResourceRead annotation = ResolutionPlan.of(method("maps").getParameters()[2]).getResourceRead();
+
+    assertThatIllegalArgumentException().isThrownBy(() -> ResolutionPlan.resourceName(annotation))
+        .withMessage("Exactly one resource has to be given but was [a.txt, b.txt].");
+  }
+
+  @Test
+  void unsupported_parameters() throws NoSuchMethodException {
+    Parameter[] parameters = method("parameterAnnotation").getParameters();
+
+    assertThat(ResolutionPlan.of(parameters[2]).isSupported()).isFalse();
+    assertThat(ResolutionPlan.of(parameters[3]).isSupported()).isFalse();
+  }
+
+  @Test
+  void content_without_any_annotation_is_supported_but_has_no_resource() throws NoSuchMethodException {
+    ResolutionPlan plan = ResolutionPlan.of(method("parameterAnnotation").getParameters()[4]);
+
+    assertThat(plan.isSupported()).isTrue();
+    assertThat(plan.getResourceRead()).isNull();
+  }
+
+  @Test
+  void fields() throws NoSuchFieldException {
+    ResolutionPlan plan = ResolutionPlan.of(Samples.class.getDeclaredField("field"));
+
+    assertThat(plan.getKind()).isEqualTo(ResolutionPlan.Kind.STRING);
+    assertThat(plan.getResourceRead().value()).containsExactly("field.txt");
+    assertThat(plan.isShareable()).isTrue();
+    assertThat(ResolutionPlan.of(Samples.class.getDeclaredField("unsupportedField")).isSupported()).isFalse();
+  }
+
+  private static Method method(String name) throws NoSuchMethodException {
+    for (Method method : Samples.class.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        return method;
+      }
+    }
+    throw new NoSuchMethodException(name);
+  }
+}
@@ -0,0 +1,219 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceCacheTest {
+
+  private final ClassLoader classLoader = ResourceCacheTest.class.getClassLoader();
+
+  @Test
+  void same_resource_is_read_only_once() {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+
+    CachedResource first = cache.get(classLoader, "sub/anton.txt", "UTF-8");
+    CachedResource second = cache.get(classLoader, "sub/anton.txt", "UTF-8");
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.asLines()).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+
+  @Test
+  void concurrent_misses_read_the_resource_only_once() throws Exception {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<IoProbe>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          IoProbe probe = IoProbe.start();
+          try {
+            cache.get(classLoader, "sub/anton.txt", "UTF-8");
+          } finally {
+            probe.stop();
+          }
+          return probe;
+        }));
+      }
+      start.countDown();
+
+      int misses = 0;
+      for (Future<IoProbe> future : futures) {
+        misses += future.get().getMode() == ResourceResolution.Mode.CACHE_MISS ? 1 : 0;
+      }
+      assertThat(misses).isEqualTo(1);
+      assertThat(cache.entries()).isEqualTo(1);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void failed_read_is_not_cached_and_repeated() {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+
+    for (int i = 0; i < 2; i++) {
+      assertThatExceptionOfType(ResourceNotFoundException.class)
+          .isThrownBy(() -> cache.get(classLoader, "missing.txt", "UTF-8"));
+    }
+    assertThat(cache.entries()).isZero();
+  }
+
+  @Test
+  void different_encodings_are_different_entries() {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+
+    CachedResource utf8 = cache.get(classLoader, "charset/text-with-umlaut.txt", "UTF-8");
+    CachedResource latin1 = cache.get(classLoader, "charset/text-with-umlaut.txt", "ISO-8859-1");
+
+    assertThat(utf8).isNotSameAs(latin1);
+    assertThat(cache.entries()).isEqualTo(2);
+  }
+
+  @Test
+  void least_recently_used_entry_is_evicted_if_budget_exceeded() {
+    long antonSize = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "anton.txt", "UTF-8").size();
+    long subSize = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "sub/anton.txt", "UTF-8").size();
+    ResourceCache cache = new ResourceCache(antonSize + subSize);
+
+    CachedResource anton = cache.get(classLoader, "anton.txt", "UTF-8");
+    cache.get(classLoader, "sub/anton.txt", "UTF-8");
+    cache.get(classLoader, "anton.txt", "UTF-8");
+    cache.get(classLoader, "sub/file-in-sub.txt", "UTF-8");
+
+    assertThat(cache.currentBytes()).isLessThanOrEqualTo(antonSize + subSize);
+    assertThat(cache.get(classLoader, "anton.txt", "UTF-8")).isSameAs(anton);
+  }
+
+  @Test
+  void decoded_forms_are_part_of_the_budget() {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+    CachedResource resource = cache.get(classLoader, "sub/anton.txt", "UTF-8");
+    long raw = cache.currentBytes();
+
+    resource.asString();
+    long withText = cache.currentBytes();
+    resource.asLines();
+
+    assertThat(withText).isGreaterThan(raw);
+    assertThat(cache.currentBytes()).isGreaterThan(withText).isEqualTo(resource.size());
+  }
+
+  @Test
+  void decoding_an_entry_may_evict_others() {
+    long antonSize = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "anton.txt", "UTF-8").size();
+    long subSize = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "sub/anton.txt", "UTF-8").size();
+    ResourceCache cache = new ResourceCache(antonSize + subSize);
+    CachedResource anton = cache.get(classLoader, "anton.txt", "UTF-8");
+    cache.get(classLoader, "sub/anton.txt", "UTF-8");
+
+    anton.asString();
+
+    assertThat(cache.entries()).isLessThan(2);
+    assertThat(cache.currentBytes()).isLessThanOrEqualTo(antonSize + subSize);
+  }
+
+  @Test
+  void evicted_entry_is_subtracted_as_it_was_charged() {
+    long subSize = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "sub/anton.txt", "UTF-8").size();
+    ResourceCache cache = new ResourceCache(subSize);
+    CachedResource anton = cache.get(classLoader, "anton.txt", "UTF-8");
+    anton.asLines();
+    cache.get(classLoader, "sub/anton.txt", "UTF-8");
+
+    anton.asString();
+
+    assertThat(cache.entries()).isEqualTo(1);
+    assertThat(cache.currentBytes()).isEqualTo(subSize);
+  }
+
+  @Test
+  void decoding_does_not_change_the_order_of_eviction() {
+    CachedResource probe = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "anton.txt", "UTF-8");
+    long antonRaw = probe.size();
+    probe.asString();
+    long antonDecoded = probe.size();
+    long subRaw = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "sub/anton.txt", "UTF-8").size();
+    long firstRaw = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "corpus/first.txt", "UTF-8").size();
+    ResourceCache cache = new ResourceCache(antonDecoded + subRaw + firstRaw - 1);
+    CachedResource anton = cache.get(classLoader, "anton.txt", "UTF-8");
+    cache.get(classLoader, "sub/anton.txt", "UTF-8");
+
+    anton.asString();
+    cache.get(classLoader, "corpus/first.txt", "UTF-8");
+
+    // anton.txt is still the least recently used entry and so it is evicted.
+    assertThat(antonRaw).isLessThan(antonDecoded);
+    assertThat(cache.currentBytes()).isEqualTo(subRaw + firstRaw);
+  }
+
+  @Test
+  void resource_larger_than_budget_is_not_cached() {
+    ResourceCache cache = new ResourceCache(1);
+
+    CachedResource first = cache.get(classLoader, "anton.txt", "UTF-8");
+
+    assertThat(first.asString()).isEqualTo("This is anton.txt");
+    assertThat(cache.entries()).isZero();
+  }
+
+  @Test
+  void bytes_are_copied_for_each_consumer() {
+    CachedResource resource = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES).get(classLoader, "anton.txt", "UTF-8");
+
+    resource.asBytes()[0] = 0;
+
+    assertThat(resource.asBytes()[0]).isEqualTo((byte) 'T');
+  }
+
+  @Test
+  void missing_resource_is_reported() {
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> cache.get(classLoader, "egon", "UTF-8"))
+        .withMessage("The resource 'egon' could not be found.");
+  }
+
+  @Test
+  void split_behaves_like_read_line() {
+    assertThat(CachedResource.split("a\nb\r\nc\rd\n")).containsExactly("a", "b", "c", "d");
+    assertThat(CachedResource.split("a\n\nb")).containsExactly("a", "", "b");
+    assertThat(CachedResource.split("")).isEmpty();
+  }
+}
@@ -0,0 +1,160 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceChunksTest {
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void stream_of_chunks(@ResourceRead(value = "sub/anton.txt", chunkSize = 16) Stream<ByteBuffer> chunks) {
+      assertThat(chunks.map(ByteBuffer::remaining).collect(Collectors.toList())).containsExactly(16, 16, 16, 1);
+    }
+
+    @Test
+    void iterable_of_chunks_can_be_iterated_again(
+        @ResourceRead(value = "sub/anton.txt", chunkSize = 32) Iterable<ByteBuffer> chunks) {
+      assertThat(text(chunks)).isEqualTo("Anton.txt in sub. Line 1\nAnton.txt in sub. Line 2");
+      assertThat(text(chunks)).isEqualTo("Anton.txt in sub. Line 1\nAnton.txt in sub. Line 2");
+    }
+
+    @Test
+    void compressed_resource(@ResourceRead("compressed/lines.txt.gz") Iterable<ByteBuffer> chunks) {
+      assertThat(text(chunks)).isEqualTo("Compressed line 1\nCompressed line 2\n");
+    }
+  }
+
+  @Test
+  void one_direct_buffer_is_reused() {
+    byte[] content = new byte[100];
+    try (ResourceChunks chunks = new ResourceChunks(
+        () -> Channels.newChannel(new ByteArrayInputStream(content)), 30)) {
+      List<ByteBuffer> buffers = new ArrayList<>();
+      List<Integer> sizes = new ArrayList<>();
+      for (ByteBuffer chunk : chunks) {
+        buffers.add(chunk);
+        sizes.add(chunk.remaining());
+      }
+
+      assertThat(sizes).containsExactly(30, 30, 30, 10);
+      assertThat(buffers).allSatisfy(buffer -> assertThat(buffer).isSameAs(buffers.get(0)));
+      assertThat(buffers.get(0).isDirect()).isTrue();
+    }
+  }
+
+  @Test
+  void concurrent_iterations_use_their_own_buffers() {
+    byte[] content = "0123456789AB".getBytes(UTF_8);
+    try (ResourceChunks chunks = new ResourceChunks(
+        () -> Channels.newChannel(new ByteArrayInputStream(content)), 4)) {
+      Iterator<ByteBuffer> first = chunks.iterator();
+      Iterator<ByteBuffer> second = chunks.iterator();
+
+      ByteBuffer chunk = first.next();
+      second.next();
+      second.next();
+
+      assertThat(chunk).isNotSameAs(second.next());
+      assertThat(UTF_8.decode(chunk).toString()).isEqualTo("0123");
+      assertThat(chunks.unfinished()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void finished_iterations_are_released() {
+    byte[] content = new byte[100];
+    try (ResourceChunks chunks = new ResourceChunks(
+        () -> Channels.newChannel(new ByteArrayInputStream(content)), 30)) {
+      Iterator<ByteBuffer> iterator = chunks.iterator();
+      iterator.next();
+      assertThat(chunks.unfinished()).isEqualTo(1);
+      iterator.forEachRemaining(chunk -> { });
+      assertThat(chunks.unfinished()).isZero();
+
+      try (Stream<ByteBuffer> stream = chunks.stream()) {
+        stream.findFirst();
+        assertThat(chunks.unfinished()).isEqualTo(1);
+      }
+
+      assertThat(chunks.unfinished()).isZero();
+    }
+  }
+
+  @Test
+  void last_chunk_stays_readable_after_close() {
+    byte[] content = "0123456789".getBytes(UTF_8);
+    ByteBuffer chunk;
+    try (ResourceChunks chunks = new ResourceChunks(
+        () -> Channels.newChannel(new ByteArrayInputStream(content)), 4)) {
+      chunk = chunks.iterator().next();
+    }
+
+    assertThat(UTF_8.decode(chunk).toString()).isEqualTo("0123");
+  }
+
+  @Test
+  void empty_content_has_no_chunks() {
+    byte[] content = new byte[0];
+    try (ResourceChunks chunks = new ResourceChunks(() -> Channels.newChannel(new ByteArrayInputStream(content)), 8)) {
+      Iterator<ByteBuffer> iterator = chunks.iterator();
+
+      assertThat(iterator.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  void chunk_size_must_be_positive() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ResourceChunks(() -> null, 0))
+        .withMessage("The chunk size must be positive but was 0.");
+  }
+
+  private static String text(Iterable<ByteBuffer> chunks) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (ByteBuffer chunk : chunks) {
+      byte[] bytes = new byte[chunk.remaining()];
+      chunk.get(bytes);
+      out.write(bytes, 0, bytes.length);
+    }
+    return new String(out.toByteArray(), UTF_8);
+  }
+}
@@ -0,0 +1,178 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceColumnTest {
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void columns_by_name(@ResourceRead("columns/measurements.csv") @ResourceColumn("id") int[] ids,
+        @ResourceRead("columns/measurements.csv") @ResourceColumn("count") long[] counts,
+        @ResourceRead("columns/measurements.csv") @ResourceColumn("value") double[] values) {
+      assertThat(ids).containsExactly(1, 2, 3);
+      assertThat(counts).containsExactly(10000000000L, -3L, 42L);
+      assertThat(values).containsExactly(1.5, 225.0, -0.125);
+    }
+
+    @Test
+    void column_by_index_of_tsv_without_header(
+        @ResourceRead("columns/measurements.tsv") @ResourceColumn(index = 2, header = false) double[] values) {
+      assertThat(values).containsExactly(0.5, 0.001);
+    }
+
+    @Test
+    void table(@ResourceRead("columns/measurements.csv") ResourceTable table) {
+      assertThat(table.header()).containsExactly("id", "name", "count", "value");
+      assertThat(table.rows()).isEqualTo(3);
+      assertThat(table.get(0, 1)).isEqualTo("Anton");
+      assertThat(table.get(1, 1)).isEqualTo("Berta, \"B\"");
+      assertThat(table.ints("id")).containsExactly(1, 2, 3);
+      assertThat(table.longs(2)).containsExactly(10000000000L, -3L, 42L);
+      assertThat(table.doubles("value")).containsExactly(1.5, 225.0, -0.125);
+    }
+
+    @Test
+    void column_in_utf16(@ResourceRead(value = "columns/measurements-utf16.csv", encoding = "UTF-16")
+        @ResourceColumn(value = "id", delimiter = ';') int[] ids,
+        @ResourceRead(value = "columns/measurements-utf16.csv", encoding = "UTF-16")
+        @ResourceColumn(delimiter = ';') ResourceTable table) {
+      assertThat(ids).containsExactly(1, 2);
+      assertThat(table.get(0, 1)).isEqualTo("\u00c4nne");
+      assertThat(table.get(1, 1)).isEqualTo("\u00d6tzi");
+    }
+  }
+
+  @Test
+  void unknown_column_fails() {
+    ColumnReader reader = new ColumnReader("test.csv", UTF_8, ColumnReader.Type.INT, true, "unknown", -1);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> parse("a,b\n1,2\n", ',', reader))
+        .withMessage("The column 'unknown' does not exist in the resource 'test.csv'.");
+  }
+
+  @Test
+  void invalid_number_fails_with_record() {
+    ColumnReader reader = new ColumnReader("test.csv", UTF_8, ColumnReader.Type.INT, true, "b", -1);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> parse("a,b\n1,2\n3,x\n", ',', reader))
+        .withMessage("The value 'x' in record 3 of column 1 of the resource 'test.csv' is not a valid int.");
+  }
+
+  @Test
+  void missing_column_fails_with_record() {
+    ColumnReader reader = new ColumnReader("test.csv", UTF_8, ColumnReader.Type.LONG, false, "", 1);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> parse("1,2\n3\n", ',', reader))
+        .withMessage("The record 2 of the resource 'test.csv' has no column 1.");
+  }
+
+  @Test
+  void quoted_fields_may_contain_delimiters_and_line_terminators() {
+    List<String> fields = new ArrayList<>();
+    String content = "\"a,b\",\"c\nd\",\"e\"\"f\"\r\n\r\ng,,h";
+
+    new DelimitedParser(',').parse(content.getBytes(UTF_8), content.length(), new DelimitedParser.FieldHandler() {
+      @Override
+      public void field(int record, int column, byte[] buffer, int start, int end, boolean quoted) {
+        fields.add(record + ":" + ResourceTable.unquote(buffer, start, end, quoted, UTF_8));
+      }
+
+      @Override
+      public void endOfRecord(int record, int columns) {
+        fields.add(record + ":" + columns);
+      }
+    });
+
+    assertThat(fields).containsExactly("0:a,b", "0:c\nd", "0:e\"f", "0:3", "1:g", "1:", "1:h", "1:3");
+  }
+
+  @Test
+  void records_larger_than_the_buffer_are_streamed() {
+    StringBuilder content = new StringBuilder("value\n");
+    for (int i = 0; i < 100_000; i++) {
+      content.append(i).append('\n');
+    }
+    ColumnReader reader = new ColumnReader("test.csv", UTF_8, ColumnReader.Type.INT, true, "value", -1);
+
+    parse(content.toString(), ',', reader);
+
+    int[] values = (int[]) reader.values();
+    assertThat(values).hasSize(100_000);
+    assertThat(values[99_999]).isEqualTo(99_999);
+  }
+
+  @Test
+  void delimiter_by_extension() {
+    assertThat(DelimitedParser.delimiterOf("data.csv", '\0')).isEqualTo(',');
+    assertThat(DelimitedParser.delimiterOf("data.tsv.gz", '\0')).isEqualTo('\t');
+    assertThat(DelimitedParser.delimiterOf("data.tsv", ';')).isEqualTo(';');
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-0.0", "1.5", "3.141592653589793", "1e22", "1e23", "-2.5E-3", "123456789012345678901",
+      "4.9e-324", "1.7976931348623157e308", "0.1", " 42 ", "NaN", "-Infinity", "0x1p3",
+      "0.9999999999999999999", "9999999999999999999", "9223372036854775808", "-9223372036854775808",
+      "999999999999999999", "0.000000000000000000123456789012345678"})
+  void doubles_like_double_parse_double(String value) {
+    byte[] bytes = value.getBytes(UTF_8);
+
+    // Boxed, so NaN is equal to NaN and 0.0 differs from -0.0.
+    assertThat(Double.valueOf(Numbers.parseDouble(bytes, 0, bytes.length))).isEqualTo(Double.valueOf(value));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-1", "+7", "9223372036854775807", "-9223372036854775808", " 12 "})
+  void longs_like_long_parse_long(String value) {
+    byte[] bytes = value.getBytes(UTF_8);
+
+    assertThat(Numbers.parseLong(bytes, 0, bytes.length)).isEqualTo(Long.parseLong(value.trim()));
+  }
+
+  private static void parse(String content, char delimiter, ColumnReader reader) {
+    try {
+      new DelimitedParser(delimiter).parse(Channels.newChannel(new ByteArrayInputStream(content.getBytes(UTF_8))),
+          reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceContentTest {
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void content_is_read_on_access(@ResourceRead("sub/anton.txt") ResourceContentString content,
+        @ResourceRead("sub/anton.txt") ResourceContentLines lines) {
+      assertThat(content.getContent()).isEqualTo("Anton.txt in sub. Line 1\nAnton.txt in sub. Line 2");
+      assertThat(content.getContent()).isSameAs(content.getContent());
+      assertThat(lines.getContent()).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+    }
+
+    @Test
+    void lines_can_be_modified_without_affecting_other_injections(
+        @ResourceRead("sub/anton.txt") ResourceContentLines lines,
+        @ResourceRead("sub/anton.txt") ResourceContentLines other) {
+      lines.getContent().sort(Collections.reverseOrder());
+      lines.getContent().add("added");
+
+      assertThat(lines.getContent()).containsExactly("Anton.txt in sub. Line 2", "Anton.txt in sub. Line 1", "added");
+      assertThat(other.getContent()).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+    }
+  }
+
+  @Test
+  void content_is_not_read_before_first_access() {
+    AtomicInteger reads = new AtomicInteger();
+
+    ResourceContentString content = new ResourceContentString(() -> "read " + reads.incrementAndGet());
+
+    assertThat(reads.get()).isZero();
+    assertThat(content.getContent()).isEqualTo("read 1");
+    assertThat(content.getContent()).isEqualTo("read 1");
+    assertThat(reads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void concurrent_access_reads_only_once() {
+    AtomicInteger reads = new AtomicInteger();
+    ResourceContentLines lines = new ResourceContentLines(() -> {
+      reads.incrementAndGet();
+      return Collections.singletonList("line");
+    });
+
+    List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      futures.add(CompletableFuture.supplyAsync(lines::getContent));
+    }
+
+    for (CompletableFuture<List<String>> future : futures) {
+      assertThat(future.join()).isSameAs(lines.getContent());
+    }
+    assertThat(reads.get()).isEqualTo(1);
+  }
+}
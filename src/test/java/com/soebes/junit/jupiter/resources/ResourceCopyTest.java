@@ -0,0 +1,105 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources
+class ResourceCopyTest {
+
+  @Test
+  void modified_copy_does_not_change_the_resource(@ResourceCopy("sub/anton.txt") Path copy,
+      ResourcePath resourcePath) throws IOException {
+    Path original = resourcePath.get("sub/anton.txt");
+
+    Files.write(copy, "changed".getBytes(UTF_8));
+
+    assertThat(copy).isNotEqualTo(original).hasFileName("anton.txt");
+    assertThat(resourcePath.readAllLines("sub/anton.txt"))
+        .containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+  }
+
+  @Test
+  void copy_of_directory(@ResourceCopy("corpus") Path copy) throws IOException {
+    try (Stream<Path> files = Files.list(copy)) {
+      assertThat(files.map(file -> file.getFileName().toString()).collect(Collectors.toList()))
+          .containsExactlyInAnyOrder("first.txt", "second.txt", "third.txt");
+    }
+  }
+
+  @Test
+  void copy_as_file(@ResourceCopy("anton.txt") File copy) throws IOException {
+    assertThat(copy).isFile().hasContent("This is anton.txt");
+  }
+
+  @Test
+  void same_name_copied_twice(@ResourceCopy("anton.txt") Path first, @ResourceCopy("sub/anton.txt") Path second) {
+    assertThat(first).isNotEqualTo(second);
+    assertThat(first.getFileName()).isEqualTo(second.getFileName());
+  }
+
+  @Test
+  void not_writable_copy_is_linked(@ResourceCopy(value = "corpus", writable = false) Path copy,
+      ResourcePath resourcePath) throws IOException {
+    Path original = resourcePath.get("corpus/first.txt");
+    // Hard links are only possible within the same file store, otherwise the files are copied.
+    assumeTrue(Files.getFileStore(copy).equals(Files.getFileStore(original)));
+
+    assertThat(Files.isSameFile(copy.resolve("first.txt"), original)).isTrue();
+
+    Files.delete(copy.resolve("first.txt"));
+    assertThat(original).exists();
+  }
+
+  @Test
+  void copy_is_located_next_to_the_classpath_root(@ResourceCopy("sub/anton.txt") Path copy,
+      ResourcePath resourcePath) throws IOException {
+    Path root = resourcePath.get("sub/anton.txt").getParent().getParent();
+
+    assertThat(copy.getParent().getParent()).isEqualTo(root.getParent());
+    assertThat(Files.getFileStore(copy)).isEqualTo(Files.getFileStore(root));
+  }
+
+  @Test
+  void copies_are_deleted_on_close(ResourcePath resourcePath) throws IOException {
+    ResourceCopies copies = new ResourceCopies();
+    Path copy = copies.copy(resourcePath.get("corpus"), true);
+
+    copies.close();
+
+    assertThat(copy).doesNotExist();
+    assertThat(copy.getParent()).doesNotExist();
+    assertThat(resourcePath.get("corpus/first.txt")).exists();
+  }
+}
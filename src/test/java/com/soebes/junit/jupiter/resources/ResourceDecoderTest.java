@@ -0,0 +1,125 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceDecoderTest {
+
+  private static final String TEXT = "Das ist ein Text mit \u00dc\u00d6\u00c4 \u00fc\u00f6\u00e4\u00df";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"UTF-8", "ISO-8859-1", "UTF-16", "US-ASCII"})
+  void decode_with_correct_size_hint(String encoding) throws IOException {
+    Charset charset = Charset.forName(encoding);
+    byte[] bytes = TEXT.getBytes(charset);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), bytes.length, charset)).isEqualTo(new String(bytes, charset));
+  }
+
+  @Test
+  void decode_ascii() throws IOException {
+    byte[] bytes = "Only ASCII content".getBytes(UTF_8);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), bytes.length, UTF_8)).isEqualTo("Only ASCII content");
+  }
+
+  @Test
+  void decode_latin1() {
+    byte[] bytes = TEXT.getBytes(ISO_8859_1);
+
+    assertThat(ResourceDecoder.decode(bytes, 0, bytes.length, ISO_8859_1)).isEqualTo(TEXT);
+  }
+
+  @Test
+  void decode_with_too_small_size_hint() throws IOException {
+    byte[] bytes = TEXT.getBytes(UTF_16);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), 3, UTF_16)).isEqualTo(TEXT);
+  }
+
+  @Test
+  void decode_without_size_hint() throws IOException {
+    byte[] bytes = TEXT.getBytes(UTF_8);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), -1, UTF_8)).isEqualTo(TEXT);
+  }
+
+  @Test
+  void decode_content_larger_than_reused_buffer() throws IOException {
+    char[] chars = new char[ResourceDecoder.REUSED_BUFFER_LIMIT / 2 + 17];
+    Arrays.fill(chars, '\u00fc');
+    String content = new String(chars);
+    byte[] bytes = content.getBytes(UTF_8);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), bytes.length, UTF_8)).isEqualTo(content);
+  }
+
+  @Test
+  void large_buffers_are_not_kept_by_the_thread() throws IOException {
+    char[] chars = new char[ResourceDecoder.RETAINED_BUFFER_LIMIT * 4];
+    Arrays.fill(chars, 'a');
+    String content = new String(chars);
+    byte[] bytes = content.getBytes(UTF_8);
+
+    assertThat(ResourceDecoder.decode(channel(bytes), bytes.length, UTF_8)).isEqualTo(content);
+    assertThat(ResourceDecoder.retainedBufferSize()).isLessThanOrEqualTo(ResourceDecoder.RETAINED_BUFFER_LIMIT);
+  }
+
+  @Test
+  void malformed_input_is_replaced() throws IOException {
+    byte[] bytes = {'a', (byte) 0xff, 'b'};
+
+    assertThat(ResourceDecoder.decode(channel(bytes), -1, UTF_8)).isEqualTo("a\ufffdb");
+    assertThat(ResourceDecoder.decode(channel(bytes), bytes.length, UTF_8)).isEqualTo("a\ufffdb");
+  }
+
+  @Test
+  void read_all_bytes_with_wrong_size_hints() throws IOException {
+    byte[] bytes = new byte[100_000];
+    Arrays.fill(bytes, (byte) 42);
+
+    assertThat(ResourceDecoder.readAllBytes(channel(bytes), bytes.length)).isEqualTo(bytes);
+    assertThat(ResourceDecoder.readAllBytes(channel(bytes), 10)).isEqualTo(bytes);
+    assertThat(ResourceDecoder.readAllBytes(channel(bytes), 200_000)).isEqualTo(bytes);
+    assertThat(ResourceDecoder.readAllBytes(channel(bytes), -1)).isEqualTo(bytes);
+  }
+
+  private static ReadableByteChannel channel(byte[] bytes) {
+    return Channels.newChannel(new ByteArrayInputStream(bytes));
+  }
+}
@@ -0,0 +1,187 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceDiskCacheTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void entry_is_written_only_once(@TempDir Path sources) throws IOException {
+    Path source = Files.write(sources.resolve("source.txt"), "content".getBytes(StandardCharsets.UTF_8));
+    AtomicInteger writes = new AtomicInteger();
+    ResourceDiskCache.Writer writer = target -> {
+      writes.incrementAndGet();
+      Files.write(target, "artefact".getBytes(StandardCharsets.UTF_8));
+    };
+
+    Path first = new ResourceDiskCache(directory).get(source, null, "test", writer);
+    // A second instance like in another fork.
+    Path second = new ResourceDiskCache(directory).get(source, null, "test", writer);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(first).hasContent("artefact");
+    assertThat(writes).hasValue(1);
+  }
+
+  @Test
+  void key_contains_modification_time_size_and_charset(@TempDir Path sources) throws IOException {
+    Path source = Files.write(sources.resolve("source.txt"), "content".getBytes(StandardCharsets.UTF_8));
+    ResourceDiskCache cache = new ResourceDiskCache(directory);
+    ResourceDiskCache.Writer writer = target -> Files.write(target, new byte[] {1});
+
+    Path original = cache.get(source, null, "test", writer);
+    Path utf8 = cache.get(source, StandardCharsets.UTF_8, "test", writer);
+    Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() - 60_000));
+    Path touched = cache.get(source, null, "test", writer);
+    Files.write(source, "changed content".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() - 60_000));
+    Path resized = cache.get(source, null, "test", writer);
+
+    assertThat(Stream.of(original, utf8, touched, resized).distinct()).hasSize(4);
+    assertThat(original.getFileName().toString()).endsWith(".test");
+    assertThat(cache.isEntry(original)).isTrue();
+    assertThat(cache.isEntry(source)).isFalse();
+  }
+
+  @Test
+  void concurrent_requests_write_the_entry_only_once(@TempDir Path sources) throws Exception {
+    Path source = Files.write(sources.resolve("source.txt"), "content".getBytes(StandardCharsets.UTF_8));
+    AtomicInteger writes = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<Path>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        // Every thread uses its own instance like separate forks do.
+        ResourceDiskCache cache = new ResourceDiskCache(directory);
+        futures.add(CompletableFuture.supplyAsync(() -> {
+          try {
+            start.await();
+            return cache.get(source, null, "test", target -> {
+              writes.incrementAndGet();
+              Files.write(target, "artefact".getBytes(StandardCharsets.UTF_8));
+            });
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+        }, executor));
+      }
+      start.countDown();
+
+      List<Path> entries = futures.stream().map(CompletableFuture::join).distinct().collect(Collectors.toList());
+
+      assertThat(entries).hasSize(1);
+      assertThat(entries.get(0)).hasContent("artefact");
+      assertThat(writes).hasValue(1);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void compressed_resource_is_decompressed_only_once() throws IOException {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ReadConfiguration configuration = configuration();
+    String expected = new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8").asString();
+
+    ResourceLoader first = new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8", configuration);
+    ResourceLoader second = new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8", configuration);
+
+    assertThat(first.asString()).isEqualTo(expected);
+    assertThat(second.asBytes()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    assertThat(second.isMappable()).isTrue();
+    MappedByteBuffer buffer = second.asMappedBuffer();
+    try {
+      assertThat(buffer).isEqualTo(ByteBuffer.wrap(expected.getBytes(StandardCharsets.UTF_8)));
+    } finally {
+      MappedBuffers.unmap(buffer);
+    }
+    assertThat(entries("payload")).hasSize(1);
+  }
+
+  @Test
+  void line_offsets_are_cached() throws IOException {
+    ClassLoader classLoader = getClass().getClassLoader();
+    List<String> expected = new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8").asList();
+
+    for (int i = 0; i < 2; i++) {
+      ResourceLineIndex index = new ResourceLoader(classLoader, "compressed/lines.txt.gz", "UTF-8", configuration())
+          .asLineIndex();
+      try {
+        assertThat(index).containsExactlyElementsOf(expected);
+      } finally {
+        index.release();
+      }
+    }
+    assertThat(entries("lines")).hasSize(1);
+  }
+
+  @Test
+  void cache_is_disabled_by_default() {
+    assertThat(ReadConfiguration.DEFAULT.getDiskCache()).isNull();
+    assertThat(ReadConfiguration.of(key -> Optional.empty()).getDiskCache()).isNull();
+    assertThat(configuration().getDiskCache().getDirectory()).isEqualTo(directory.toAbsolutePath().normalize());
+  }
+
+  private ReadConfiguration configuration() {
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put(ResourceDiskCache.ENABLED_PROPERTY, "true");
+    parameters.put(ResourceDiskCache.DIRECTORY_PROPERTY, directory.toString());
+    return ReadConfiguration.of(key -> Optional.ofNullable(parameters.get(key)));
+  }
+
+  private List<Path> entries(String kind) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith("." + kind)).collect(Collectors.toList());
+    }
+  }
+}
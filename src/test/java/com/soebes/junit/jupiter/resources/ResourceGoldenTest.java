@@ -0,0 +1,163 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceGoldenTest {
+
+  private static final String REPORT = "line one\nline two\nline three\n";
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void equal_content_matches(ResourceGolden golden, @TempDir Path directory) throws IOException {
+      Path actual = Files.write(directory.resolve("report.txt"), REPORT.getBytes(UTF_8));
+
+      golden.assertMatches("golden/report.txt", actual);
+      golden.assertMatches("golden/report.txt", REPORT);
+      assertThat(golden.isUpdating()).isFalse();
+    }
+
+    @Test
+    void compressed_golden_file_is_compared_as_stored(ResourceGolden golden, ResourcePath resourcePath)
+        throws IOException {
+      byte[] stored = Files.readAllBytes(resourcePath.get("compressed/lines.txt.gz"));
+
+      golden.assertMatches("compressed/lines.txt.gz", stored);
+    }
+
+    @Test
+    void first_difference_is_reported(ResourceGolden golden) {
+      assertThatExceptionOfType(AssertionFailedError.class)
+          .isThrownBy(() -> golden.assertMatches("golden/report.txt", "line one\nline 2\nline three\n"))
+          .withMessageStartingWith("The content differs from the golden file 'golden/report.txt' at offset 14 "
+              + "(line 2, column 6).")
+          .satisfies(e -> {
+            assertThat(e.getExpected().getValue()).isEqualTo("line one\\nline two\\nline three\\n");
+            assertThat(e.getActual().getValue()).isEqualTo("line one\\nline 2\\nline three\\n");
+          });
+    }
+
+    @Test
+    void shorter_content_is_reported(ResourceGolden golden) {
+      assertThatExceptionOfType(AssertionFailedError.class)
+          .isThrownBy(() -> golden.assertMatches("golden/report.txt", "line one\n"))
+          .withMessageContaining("at offset 9 (line 2, column 1)")
+          .withMessageContaining("(end of content)");
+    }
+
+    @Test
+    void missing_golden_file_fails(ResourceGolden golden) {
+      assertThatExceptionOfType(AssertionFailedError.class)
+          .isThrownBy(() -> golden.assertMatches("golden/missing.txt", REPORT))
+          .withMessage("The golden file 'golden/missing.txt' does not exist. Set the configuration parameter "
+              + "'resources-extension.golden.update' to true to create it.");
+    }
+  }
+
+  @Test
+  void update_rewrites_source_and_output(@TempDir Path directory) throws IOException {
+    Path classes = Files.createDirectories(directory.resolve("classes/golden"));
+    Path sources = directory.resolve("sources");
+    Files.write(classes.resolve("report.txt"), "old".getBytes(UTF_8));
+
+    // Without parent, so the golden files of the project are not found.
+    URL[] urls = {directory.resolve("classes").toUri().toURL()};
+    try (URLClassLoader classLoader = new URLClassLoader(urls, null)) {
+      ResourceGolden golden = new ResourceGolden(new ResourcePath(classLoader), true, sources);
+      golden.assertMatches("golden/report.txt", REPORT);
+      golden.assertMatches("golden/created.txt", REPORT);
+    }
+
+    assertThat(sources.resolve("golden/report.txt")).hasContent(REPORT);
+    assertThat(classes.resolve("report.txt")).hasContent(REPORT);
+    assertThat(sources.resolve("golden/created.txt")).hasContent(REPORT);
+    assertThat(classes.resolve("created.txt")).doesNotExist();
+  }
+
+  @Test
+  void difference_after_several_chunks() throws IOException {
+    byte[] expected = new byte[200_000];
+    Arrays.fill(expected, (byte) 'a');
+    for (int i = 99; i < expected.length; i += 100) {
+      expected[i] = '\n';
+    }
+    byte[] actual = expected.clone();
+    // Right at the start of the second chunk, so the context before is taken from the first one.
+    actual[65_536] = 'b';
+
+    GoldenComparison.Difference difference = GoldenComparison.compare(channel(expected), channel(actual));
+
+    assertThat(difference.getOffset()).isEqualTo(65_536);
+    assertThat(difference.getLine()).isEqualTo(656);
+    assertThat(difference.getColumn()).isEqualTo(37);
+    assertThat(difference.getBefore()).hasSize(GoldenComparison.CONTEXT);
+    assertThat(difference.getExpected()).hasSize(GoldenComparison.CONTEXT).startsWith((byte) 'a');
+    assertThat(difference.getActual()).hasSize(GoldenComparison.CONTEXT).startsWith((byte) 'b');
+  }
+
+  @Test
+  void context_is_completed_beyond_the_chunk() throws IOException {
+    byte[] expected = new byte[70_000];
+    byte[] actual = expected.clone();
+    actual[65_530] = 1;
+
+    GoldenComparison.Difference difference = GoldenComparison.compare(channel(expected), channel(actual));
+
+    assertThat(difference.getOffset()).isEqualTo(65_530);
+    assertThat(difference.getExpected()).hasSize(GoldenComparison.CONTEXT);
+    assertThat(difference.getActual()).hasSize(GoldenComparison.CONTEXT);
+  }
+
+  @Test
+  void equal_contents_have_no_difference() throws IOException {
+    byte[] content = new byte[131_072];
+
+    assertThat(GoldenComparison.compare(channel(content), channel(content.clone()))).isNull();
+    assertThat(GoldenComparison.compare(channel(new byte[0]), channel(new byte[0]))).isNull();
+  }
+
+  private static ReadableByteChannel channel(byte[] content) {
+    return Channels.newChannel(new ByteArrayInputStream(content));
+  }
+}
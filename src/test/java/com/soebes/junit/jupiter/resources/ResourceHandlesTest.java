@@ -0,0 +1,73 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceHandlesTest {
+
+  @Test
+  void handles_are_closed_in_reverse_order() throws Throwable {
+    List<String> closed = new ArrayList<>();
+    ResourceHandles handles = new ResourceHandles();
+    handles.register(() -> closed.add("first"));
+    handles.register(() -> closed.add("second"));
+
+    handles.close();
+
+    assertThat(closed).containsExactly("second", "first");
+  }
+
+  @Test
+  void all_handles_are_closed_even_if_one_fails() {
+    List<String> closed = new ArrayList<>();
+    ResourceHandles handles = new ResourceHandles();
+    handles.register(() -> closed.add("first"));
+    handles.register(() -> {
+      throw new IOException("failure");
+    });
+
+    assertThatExceptionOfType(IOException.class).isThrownBy(handles::close).withMessage("failure");
+    assertThat(closed).containsExactly("first");
+  }
+
+  @Test
+  void stream_of_resource_path_is_closed() throws Throwable {
+    List<String> closed = new ArrayList<>();
+    ResourceHandles handles = new ResourceHandles();
+    Stream<String> lines = new ResourcePath(getClass().getClassLoader(), handles).lines("anton.txt");
+    lines.onClose(() -> closed.add("lines"));
+
+    handles.close();
+
+    assertThat(closed).containsExactly("lines");
+  }
+}
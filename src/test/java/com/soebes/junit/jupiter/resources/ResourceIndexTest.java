@@ -0,0 +1,89 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources
+class ResourceIndexTest {
+
+  private final ResourceIndex index = ResourceIndex.of(ResourceIndexTest.class.getClassLoader());
+
+  @Test
+  void index_is_shared() {
+    assertThat(ResourceIndex.of(ResourceIndexTest.class.getClassLoader())).isSameAs(index);
+  }
+
+  @Test
+  void find_in_directory() {
+    assertThat(index.find("corpus/*.txt")).containsExactly("corpus/first.txt", "corpus/second.txt", "corpus/third.txt");
+  }
+
+  @Test
+  void find_across_directories() {
+    assertThat(index.find("**/anton.txt")).containsExactly("anton.txt", "sub/anton.txt");
+  }
+
+  @Test
+  void find_with_alternatives() {
+    assertThat(index.find("corpus/{first,third}.txt")).containsExactly("corpus/first.txt", "corpus/third.txt");
+  }
+
+  @Test
+  void find_in_jar() {
+    assertThat(index.find("META-INF/junit-jupiter-api.*")).containsExactly("META-INF/junit-jupiter-api.kotlin_module");
+  }
+
+  @Test
+  void class_files_are_not_indexed() {
+    assertThat(index.find("org/junit/jupiter/api/Test.class")).isEmpty();
+    assertThat(index.find("**/ResourceIndexTest.class")).isEmpty();
+  }
+
+  @Test
+  void single_star_does_not_cross_directories() {
+    assertThat(index.find("*.txt")).containsExactly("anton.txt");
+  }
+
+  @Test
+  void glob_of_resource_path(ResourcePath resourcePath) {
+    assertThat(resourcePath.glob("sub/*.txt")).extracting(path -> path.getFileName().toString())
+        .containsExactly("anton.txt", "file-in-sub.txt");
+  }
+
+  @Test
+  void glob_as_parameter(@ResourceRead("corpus/*.txt") List<Path> paths) {
+    assertThat(paths).hasSize(3);
+  }
+
+  @Test
+  void regex_of_glob() {
+    assertThat(ResourceIndex.toRegex("data/**/*.json")).isEqualTo("data/(?:.*/)?[^/]*\\.json");
+    assertThat(ResourceIndex.toRegex("a?[!b].txt")).isEqualTo("a[^/][^b]\\.txt");
+  }
+}
@@ -0,0 +1,108 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceLineIndexTest {
+
+  @Nested
+  @TestResources
+  class Injected {
+
+    @Test
+    void lines_of_resource(@ResourceRead("sub/anton.txt") ResourceLineIndex lines) {
+      assertThat(lines).hasSize(2).containsExactly("Anton.txt in sub. Line 1", "Anton.txt in sub. Line 2");
+      assertThat(lines.get(1)).isEqualTo("Anton.txt in sub. Line 2");
+    }
+
+    @Test
+    @ResourceRead("charset/text-with-umlaut.txt")
+    void lines_from_method_annotation(ResourceLineIndex lines) {
+      assertThat(lines).containsExactly("Das ist ein Text mit \u00dc\u00d6\u00c4 \u00fc\u00f6\u00e4\u00df");
+    }
+
+    @Test
+    void compressed_resource_is_read_completely(@ResourceRead("compressed/lines.txt.gz") ResourceLineIndex lines) {
+      assertThat(lines).containsExactly("Compressed line 1", "Compressed line 2");
+    }
+  }
+
+  @Test
+  void line_terminators_like_buffered_reader(@TempDir Path directory) throws IOException {
+    List<String> lines = index(directory, "first\nsecond\r\nthird\rfourth\n\nsixth", UTF_8);
+
+    assertThat(lines).containsExactly("first", "second", "third", "fourth", "", "sixth");
+  }
+
+  @Test
+  void trailing_terminator_does_not_add_a_line(@TempDir Path directory) throws IOException {
+    assertThat(index(directory, "first\r\n", UTF_8)).containsExactly("first");
+    assertThat(index(directory, "\n", UTF_8)).containsExactly("");
+  }
+
+  @Test
+  void empty_file_has_no_lines(@TempDir Path directory) throws IOException {
+    assertThat(index(directory, "", UTF_8)).isEmpty();
+  }
+
+  @Test
+  void lines_are_decoded_with_charset(@TempDir Path directory) throws IOException {
+    assertThat(index(directory, "gr\u00fc\u00dfe\n\u00e4", ISO_8859_1)).containsExactly("gr\u00fc\u00dfe", "\u00e4");
+    assertThat(index(directory, "gr\u00fc\u00dfe\n\u00e4", UTF_8)).containsExactly("gr\u00fc\u00dfe", "\u00e4");
+  }
+
+  @Test
+  void index_out_of_bounds(@TempDir Path directory) throws IOException {
+    List<String> lines = index(directory, "first\nsecond\n", UTF_8);
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> lines.get(2));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> lines.get(-1));
+  }
+
+  @Test
+  void indexable_charsets() {
+    assertThat(ResourceLineIndex.isIndexable(UTF_8)).isTrue();
+    assertThat(ResourceLineIndex.isIndexable(ISO_8859_1)).isTrue();
+    assertThat(ResourceLineIndex.isIndexable(UTF_16)).isFalse();
+  }
+
+  private static List<String> index(Path directory, String content, Charset charset) throws IOException {
+    Path file = Files.write(directory.resolve("lines.txt"), content.getBytes(charset));
+    return ResourceLineIndex.of(MappedFile.map(file), charset);
+  }
+}
@@ -0,0 +1,96 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceLocatorTest {
+
+  @Test
+  void hits_and_misses_are_looked_up_only_once() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(ResourceLocator.find(classLoader, "sub/anton.txt")).isPresent();
+      assertThat(ResourceLocator.find(classLoader, "sub/missing.txt")).isEmpty();
+    }
+
+    assertThat(classLoader.lookups.get()).isEqualTo(2);
+  }
+
+  @Test
+  void invalidated_lookup_is_repeated() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+    ResourceLocator.find(classLoader, "sub/missing.txt");
+
+    ResourceLocator.invalidate(classLoader, "sub/missing.txt");
+    ResourceLocator.find(classLoader, "sub/missing.txt");
+
+    assertThat(classLoader.lookups.get()).isEqualTo(2);
+  }
+
+  @Test
+  void find_does_not_throw() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ResourcePath resourcePath = new ResourcePath(classLoader);
+    ResourceFile resourceFile = new ResourceFile(classLoader);
+
+    assertThat(resourcePath.find("sub/anton.txt")).map(Path::getFileName).hasValueSatisfying(
+        name -> assertThat(name.toString()).isEqualTo("anton.txt"));
+    assertThat(resourcePath.find("sub/missing.txt")).isEmpty();
+    assertThat(resourceFile.find("sub/anton.txt")).map(File::getName).contains("anton.txt");
+    assertThat(resourceFile.find("sub/missing.txt")).isEmpty();
+  }
+
+  @Test
+  void get_still_fails_for_missing_resources() {
+    ResourcePath resourcePath = new ResourcePath(getClass().getClassLoader());
+
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> resourcePath.get("sub/missing.txt"))
+        .withMessage("The resource 'sub/missing.txt' couldn't being found.");
+  }
+
+  private static final class CountingClassLoader extends ClassLoader {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    CountingClassLoader() {
+      super(ResourceLocatorTest.class.getClassLoader());
+    }
+
+    @Override
+    public URL getResource(String name) {
+      lookups.incrementAndGet();
+      return super.getResource(name);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@TestResources
+class ResourceMapTest {
+
+  private static final String ANTON = "Anton.txt in sub. Line 1\nAnton.txt in sub. Line 2";
+
+  private static final String FILE_IN_SUB = "File in Sub directory.";
+
+  @Test
+  void strings_in_given_order(@ResourceRead({"sub/file-in-sub.txt", "sub/anton.txt"}) Map<String, String> content) {
+    assertThat(content).containsExactly(entry("sub/file-in-sub.txt", FILE_IN_SUB), entry("sub/anton.txt", ANTON));
+  }
+
+  @Test
+  void bytes_of_all_resources_below_prefix(@ResourceRead("sub/") Map<String, byte[]> content) {
+    assertThat(content).containsOnlyKeys("sub/anton.txt", "sub/file-in-sub.txt");
+    assertThat(new String(content.get("sub/anton.txt"), UTF_8)).isEqualTo(ANTON);
+  }
+
+  @Test
+  void paths_of_glob(@ResourceRead({"sub/a*.txt", "anton.txt"}) Map<String, Path> paths) {
+    assertThat(paths).containsOnlyKeys("sub/anton.txt", "anton.txt");
+    assertThat(paths.get("sub/anton.txt")).exists();
+  }
+
+  private static Map.Entry<String, String> entry(String key, String value) {
+    return new AbstractMap.SimpleEntry<>(key, value);
+  }
+}
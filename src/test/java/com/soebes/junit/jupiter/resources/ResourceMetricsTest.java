@@ -0,0 +1,170 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourceMetricsTest {
+
+  @Test
+  void probe_records_bytes_and_decode_time() throws IOException {
+    byte[] content = "first line\nsecond line\n".getBytes(UTF_8);
+
+    IoProbe probe = IoProbe.start();
+    try {
+      ResourceDecoder.decode(Channels.newChannel(new ByteArrayInputStream(content)), content.length, UTF_8);
+      IoProbe.mode(ResourceResolution.Mode.CACHE_MISS);
+      IoProbe.mode(ResourceResolution.Mode.CACHE_HIT);
+    } finally {
+      probe.stop();
+    }
+
+    assertThat(probe.getBytesRead()).isEqualTo(content.length);
+    assertThat(probe.getDecodeNanos()).isPositive();
+    assertThat(probe.getMode()).isEqualTo(ResourceResolution.Mode.CACHE_MISS);
+    assertThat(IoProbe.isActive()).isFalse();
+  }
+
+  @Test
+  void inactive_probe_records_nothing() throws IOException {
+    IoProbe probe = IoProbe.start();
+    probe.stop();
+
+    ResourceDecoder.decode(Channels.newChannel(new ByteArrayInputStream(new byte[] {'a'})), 1, UTF_8);
+
+    assertThat(probe.getBytesRead()).isZero();
+    assertThat(probe.getMode()).isNull();
+  }
+
+  @Test
+  void attached_probe_collects_reads_of_other_threads() {
+    IoProbe probe = IoProbe.start();
+    try {
+      List<CompletableFuture<Void>> reads = new ArrayList<>();
+      for (ResourceResolution.Mode mode : new ResourceResolution.Mode[] {ResourceResolution.Mode.CACHE_HIT,
+          ResourceResolution.Mode.CACHE_MISS}) {
+        reads.add(CompletableFuture.runAsync(() -> probe.attached(() -> {
+          IoProbe.bytesRead(5);
+          IoProbe.mode(mode);
+          return null;
+        })));
+      }
+      reads.forEach(CompletableFuture::join);
+    } finally {
+      probe.stop();
+    }
+
+    assertThat(probe.getBytesRead()).isEqualTo(10);
+    assertThat(probe.getMode()).isEqualTo(ResourceResolution.Mode.CACHE_MISS);
+  }
+
+  @Test
+  void deferred_read_is_measured_when_it_happens() {
+    List<Map<String, String>> published = new ArrayList<>();
+    ResourceMetrics metrics = new ResourceMetrics(true, ResourceMetrics.DEFAULT_TOP);
+    ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_MAX_BYTES);
+    ClassLoader classLoader = getClass().getClassLoader();
+
+    String content = metrics.measure(context(published), "sub/anton.txt",
+        () -> cache.get(classLoader, "sub/anton.txt", "UTF-8").asString());
+
+    assertThat(published).hasSize(1);
+    assertThat(published.get(0)).contains(entry("resource", "sub/anton.txt"), entry("mode", "CACHE_MISS"),
+        entry("bytesRead", Integer.toString(content.getBytes(UTF_8).length)));
+    assertThat(Long.parseLong(published.get(0).get("decodeNanos"))).isPositive();
+  }
+
+  @Test
+  void report_entry_of_each_resolution() {
+    List<Map<String, String>> published = new ArrayList<>();
+    ResourceMetrics metrics = new ResourceMetrics(true, ResourceMetrics.DEFAULT_TOP);
+
+    metrics.record(context(published), new ResourceResolution("a.txt", ResourceResolution.Mode.CACHE_MISS, 100, 20, 30),
+        null);
+
+    assertThat(published).hasSize(1);
+    assertThat(published.get(0)).containsExactly(entry("resource", "a.txt"), entry("mode", "CACHE_MISS"),
+        entry("bytesRead", "100"), entry("decodeNanos", "20"), entry("resolutionNanos", "30"));
+  }
+
+  @Test
+  void disabled_metrics_neither_publish_nor_summarize() {
+    List<Map<String, String>> published = new ArrayList<>();
+    ResourceMetrics metrics = new ResourceMetrics(false, ResourceMetrics.DEFAULT_TOP);
+
+    metrics.record(context(published), new ResourceResolution("a.txt", ResourceResolution.Mode.CACHE_MISS, 100, 20, 30),
+        null);
+
+    assertThat(published).isEmpty();
+    assertThat(metrics.summary()).isEmpty();
+  }
+
+  @Test
+  void summary_of_heaviest_and_redundantly_loaded_resources() {
+    List<Map<String, String>> published = new ArrayList<>();
+    ResourceMetrics metrics = new ResourceMetrics(true, 2);
+    ExtensionContext context = context(published);
+
+    metrics.record(context, new ResourceResolution("small.txt", ResourceResolution.Mode.CACHE_MISS, 10, 0, 1_000), null);
+    metrics.record(context, new ResourceResolution("small.txt", ResourceResolution.Mode.CACHE_HIT, 0, 0, 1_000), null);
+    metrics.record(context, new ResourceResolution("big.txt", ResourceResolution.Mode.STREAMED, 5_000, 0, 1_000), null);
+    metrics.record(context, new ResourceResolution("big.txt", ResourceResolution.Mode.STREAMED, 5_000, 0, 1_000), null);
+    metrics.record(context, new ResourceResolution("middle.txt", ResourceResolution.Mode.MAPPED, 1_000, 0, 1_000),
+        null);
+
+    String summary = metrics.summary();
+
+    assertThat(summary).startsWith("5 resolutions of 3 resources, 11010 bytes read");
+    assertThat(summary.split(System.lineSeparator())).hasSize(6);
+    assertThat(summary).containsSubsequence("Heaviest resources:", "big.txt", "middle.txt",
+        "Most redundantly loaded resources:", "2 loads of 2 resolutions: big.txt");
+    assertThat(summary).doesNotContain("small.txt");
+  }
+
+  private static ExtensionContext context(List<Map<String, String>> published) {
+    return (ExtensionContext) Proxy.newProxyInstance(ExtensionContext.class.getClassLoader(),
+        new Class<?>[] {ExtensionContext.class}, (proxy, method, args) -> {
+          if (method.getName().equals("publishReportEntry") && args.length == 1 && args[0] instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> entry = (Map<String, String>) args[0];
+            published.add(entry);
+            return null;
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
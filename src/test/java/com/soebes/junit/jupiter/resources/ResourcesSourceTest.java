@@ -0,0 +1,74 @@
+package com.soebes.junit.jupiter.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResourcesSourceTest {
+
+  private static final List<String> CONTENT = new ArrayList<>();
+
+  @ParameterizedTest
+  @ResourcesSource({"anton.txt", "sub/anton.txt"})
+  void named_resources(ResourceContentLines lines) {
+    assertThat(lines.getContent()).first().asString().contains("nton.txt");
+  }
+
+  @ParameterizedTest
+  @ResourcesSource(directory = "corpus")
+  void directory_as_string(ResourceContentString content) {
+    CONTENT.add(content.getContent());
+  }
+
+  @ParameterizedTest
+  @ResourcesSource(directory = "corpus")
+  void directory_as_path(Path path) {
+    assertThat(Files.isRegularFile(path)).isTrue();
+  }
+
+  @ParameterizedTest
+  @ResourcesSource("anton.txt")
+  void resource_as_bytes(byte[] content) {
+    assertThat(content).hasSize("This is anton.txt".length());
+  }
+
+  @ParameterizedTest
+  @ResourcesSource("compressed/lines.txt.gz")
+  void compressed_resource_is_decompressed(ResourceContentLines lines) {
+    assertThat(lines.getContent()).containsExactly("Compressed line 1", "Compressed line 2");
+  }
+
+  @AfterAll
+  static void all_files_of_directory_have_been_provided() {
+    assertThat(CONTENT).containsExactlyInAnyOrder("First corpus entry", "Second corpus entry\nwith two lines",
+        "Third corpus entry");
+  }
+}